@@ -15,14 +15,94 @@ repositories {
     mavenCentral()
 }
 
+// Benchmarks live in their own source set, so that JMH never ends up on the classpath of the library itself.
+// Solutions are usually written as tests, so they are made available to the benchmarks as well.
+val jmh: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output
+    runtimeClasspath += sourceSets.main.get().output + sourceSets.test.get().output
+}
+
+configurations[jmh.implementationConfigurationName].extendsFrom(configurations.implementation.get())
+configurations[jmh.runtimeOnlyConfigurationName]
+    .extendsFrom(configurations.testImplementation.get(), configurations.testRuntimeOnly.get())
+
 dependencies {
     implementation("com.fasterxml.jackson.core:jackson-databind:2.16.1")
-    implementation("org.jsoup:jsoup:1.17.1")
     testImplementation(platform("org.junit:junit-bom:5.10.1"))
     testImplementation("org.junit.jupiter:junit-jupiter")
+    "jmhImplementation"("org.openjdk.jmh:jmh-core:1.37")
+    "jmhAnnotationProcessor"("org.openjdk.jmh:jmh-generator-annprocess:1.37")
 }
 
 tasks.test {
     useJUnitPlatform()
 }
 
+// Usage: ./gradlew jmh -Psolutions=com.example.Year2023,com.example.Year2022
+tasks.register<JavaExec>("jmh") {
+    group = "verification"
+    description = "Benchmarks the Advent of Code solutions in the classes given by -Psolutions"
+    dependsOn(tasks.testClasses)
+    classpath = jmh.runtimeClasspath
+    mainClass.set("com.pawanhegde.advent.benchmark.BenchmarkRunner")
+    args((findProperty("solutions") as String?)?.split(",") ?: emptyList<String>())
+}
+
+// Usage: ./gradlew aocRun -Psolutions=com.example.Year2023,com.example.Year2022
+// After ./gradlew aocCds with the same solutions, the JVM maps the classes of the library, its dependencies and the
+// JDK from a class data sharing archive, instead of loading and verifying them one by one on every run. The archive
+// can only hold classes from jars, so the library is run from its jar, and it has to come first on the class path.
+// A stale archive is simply ignored, so run aocCds again after upgrading the library or its dependencies.
+val cdsFolder = layout.buildDirectory.dir("cds")
+val sharedClasspath = files(tasks.jar, configurations.runtimeClasspath)
+val solutionClasses = (findProperty("solutions") as String?)?.split(",") ?: emptyList<String>()
+
+val aocClassList = tasks.register<JavaExec>("aocClassList") {
+    group = "application"
+    description = "Runs the solutions in the classes given by -Psolutions, and lists the classes they load"
+    dependsOn(tasks.jar, tasks.testClasses)
+    classpath = sharedClasspath + sourceSets.test.get().runtimeClasspath
+    mainClass.set("com.pawanhegde.advent.Launcher")
+    args(solutionClasses)
+    doFirst {
+        cdsFolder.get().asFile.mkdirs()
+        jvmArgs("-XX:DumpLoadedClassList=${cdsFolder.get().file("classes.lst").asFile}")
+    }
+}
+
+tasks.register<JavaExec>("aocCds") {
+    group = "application"
+    description = "Creates the class data sharing archive that aocRun starts from"
+    dependsOn(aocClassList)
+    classpath = sharedClasspath
+    // The JVM exits as soon as the archive has been written, before getting to the main class
+    mainClass.set("com.pawanhegde.advent.Launcher")
+    doFirst {
+        jvmArgs("-Xshare:dump", "-XX:SharedClassListFile=${cdsFolder.get().file("classes.lst").asFile}",
+            "-XX:SharedArchiveFile=${cdsFolder.get().file("aoc.jsa").asFile}")
+    }
+}
+
+tasks.register<JavaExec>("aocRun") {
+    group = "application"
+    description = "Runs the solutions in the classes given by -Psolutions, starting from the archive of aocCds"
+    dependsOn(tasks.jar, tasks.testClasses)
+    classpath = sharedClasspath + sourceSets.test.get().runtimeClasspath
+    mainClass.set("com.pawanhegde.advent.Launcher")
+    args(solutionClasses)
+    doFirst {
+        val archive = cdsFolder.get().file("aoc.jsa").asFile
+        if (archive.exists()) {
+            jvmArgs("-Xshare:auto", "-XX:SharedArchiveFile=$archive")
+        }
+    }
+}
+
+// Usage: ./gradlew jmhUtil
+tasks.register<JavaExec>("jmhUtil") {
+    group = "verification"
+    description = "Benchmarks the data structures in com.pawanhegde.advent.util against the JDK collections"
+    classpath = jmh.runtimeClasspath
+    mainClass.set("org.openjdk.jmh.Main")
+    args("com\\.pawanhegde\\.advent\\.benchmark\\.util\\..*", "-prof", "gc")
+}
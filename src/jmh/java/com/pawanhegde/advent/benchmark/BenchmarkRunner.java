@@ -0,0 +1,104 @@
+package com.pawanhegde.advent.benchmark;
+
+import com.pawanhegde.advent.AocException;
+import com.pawanhegde.advent.helper.SolutionSupplier;
+import com.pawanhegde.advent.model.ProblemId;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static com.pawanhegde.advent.util.Log.info;
+
+/**
+ * Benchmarks every solution in the given classes with JMH, and prints a table of the results for each problem.
+ * The table is also written to {@code build/reports/jmh/solutions.txt}, so that it can be diffed across commits, and
+ * the raw JMH results to {@code build/reports/jmh/results.json}.
+ * <p>
+ * Usage: {@code ./gradlew jmh -Psolutions=com.example.Year2023,com.example.Year2022}
+ */
+public class BenchmarkRunner {
+	private static final Path REPORTS_FOLDER = Path.of("build/reports/jmh");
+	private static final String ALLOCATION_RATE = "gc.alloc.rate.norm";
+
+	private BenchmarkRunner() {
+	}
+
+	public static void main(String[] classNames) throws ClassNotFoundException, RunnerException, IOException {
+		if (classNames.length == 0) {
+			throw new AocException("Pass the names of the classes with the solutions to benchmark");
+		}
+
+		List<String> solutions = new ArrayList<>();
+		for (String className : classNames) {
+			Class<?> aClass = Class.forName(className);
+			SolutionSupplier.getAocSolutions(aClass).keySet()
+					.forEach(problemId -> solutions.add(SolutionBenchmark.toParam(aClass, problemId)));
+		}
+
+		Files.createDirectories(REPORTS_FOLDER);
+		Options options = new OptionsBuilder()
+				.include(SolutionBenchmark.class.getName())
+				.param("solution", solutions.toArray(new String[0]))
+				.addProfiler(GCProfiler.class)
+				.resultFormat(ResultFormatType.JSON)
+				.result(REPORTS_FOLDER.resolve("results.json").toString())
+				.build();
+		Collection<RunResult> results = new Runner(options).run();
+
+		String table = createTable(results);
+		info(table);
+		Files.writeString(REPORTS_FOLDER.resolve("solutions.txt"), table);
+	}
+
+	private static String createTable(Collection<RunResult> results) {
+		Map<ProblemId, Row> rows = new TreeMap<>();
+		for (RunResult result : results) {
+			ProblemId problemId = SolutionBenchmark.toProblemId(result.getParams().getParam("solution"));
+			Row row = rows.computeIfAbsent(problemId, p -> new Row());
+			Mode mode = result.getParams().getMode();
+			if (mode == Mode.AverageTime) {
+				row.averageTime = result.getPrimaryResult().getScore();
+				row.bytesAllocated = getAllocatedBytesPerOperation(result);
+			} else if (mode == Mode.Throughput) {
+				row.throughput = result.getPrimaryResult().getScore();
+			}
+		}
+
+		StringBuilder table = new StringBuilder(String.format("%-28s %15s %15s %15s%n",
+				"Problem", "Time (us/op)", "Ops/us", "Alloc (B/op)"));
+		rows.forEach((problemId, row) -> table.append(String.format("%-28s %15.3f %15.3f %15.0f%n",
+				problemId, row.averageTime, row.throughput, row.bytesAllocated)));
+		return table.toString();
+	}
+
+	private static double getAllocatedBytesPerOperation(RunResult result) {
+		// Older versions of JMH prefix the names of the profiler results with a '·'
+		for (Map.Entry<String, Result> secondary : result.getSecondaryResults().entrySet()) {
+			if (secondary.getKey().endsWith(ALLOCATION_RATE)) {
+				return secondary.getValue().getScore();
+			}
+		}
+		return Double.NaN;
+	}
+
+	private static class Row {
+		private double averageTime = Double.NaN;
+		private double throughput = Double.NaN;
+		private double bytesAllocated = Double.NaN;
+	}
+}
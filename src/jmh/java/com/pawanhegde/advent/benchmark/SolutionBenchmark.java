@@ -0,0 +1,75 @@
+package com.pawanhegde.advent.benchmark;
+
+import com.pawanhegde.advent.AocException;
+import com.pawanhegde.advent.helper.InputAdapters;
+import com.pawanhegde.advent.helper.InputHelper;
+import com.pawanhegde.advent.helper.SolutionInvoker;
+import com.pawanhegde.advent.helper.SolutionSupplier;
+import com.pawanhegde.advent.helper.StoredInput;
+import com.pawanhegde.advent.model.ProblemId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs a single solution on its actual input. The solution is picked with the {@code solution} parameter, which
+ * {@link BenchmarkRunner} fills in for every solution it finds.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.AverageTime, Mode.Throughput})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class SolutionBenchmark {
+	private static final String SEPARATOR = ":";
+
+	/**
+	 * The solution to run, in the form {@code className:year:day:part}.
+	 */
+	@Param("")
+	public String solution;
+
+	private Method method;
+	private StoredInput input;
+
+	static String toParam(Class<?> aClass, ProblemId problemId) {
+		return String.join(SEPARATOR, aClass.getName(), String.valueOf(problemId.year()),
+				String.valueOf(problemId.day()), String.valueOf(problemId.part()));
+	}
+
+	static ProblemId toProblemId(String param) {
+		String[] parts = param.split(SEPARATOR);
+		return new ProblemId(Integer.parseInt(parts[1]), Integer.parseInt(parts[2]), Integer.parseInt(parts[3]));
+	}
+
+	@Setup
+	public void setUp() throws ClassNotFoundException {
+		Class<?> aClass = Class.forName(solution.split(SEPARATOR)[0]);
+		ProblemId problemId = toProblemId(solution);
+		method = SolutionSupplier.getAocSolutions(aClass).get(problemId);
+		if (method == null) {
+			throw new AocException("Could not find the solution for " + problemId + " in " + aClass.getName());
+		}
+		// The input is read once, but converted into the type the solution accepts in every invocation, because
+		// that is part of the work a solution does on a normal run. The exception is an input that goes through the
+		// parser of the day, which a normal run shares between both parts, so only the first invocation parses it.
+		input = InputHelper.getStoredInput(problemId);
+	}
+
+	@Benchmark
+	public Object solve() {
+		return SolutionInvoker.invoke(method, InputAdapters.adapt(method, input));
+	}
+}
@@ -0,0 +1,100 @@
+package com.pawanhegde.advent.benchmark.util;
+
+import com.pawanhegde.advent.util.CharGrid;
+import com.pawanhegde.advent.util.DenseIntSet;
+import com.pawanhegde.advent.util.IntDeque;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Floods a maze from its top left corner, with a {@link CharGrid}, {@link DenseIntSet} and {@link IntDeque} against
+ * the list of strings, set of points and deque that solutions would otherwise use.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class GridSearchBenchmark {
+	private static final int[][] DIRECTIONS = {{0, -1}, {1, 0}, {0, 1}, {-1, 0}};
+
+	@Param({"141"})
+	public int side;
+
+	private List<String> lines;
+	private CharGrid grid;
+
+	@Setup
+	public void setUp() {
+		Random random = new Random(42);
+		lines = new ArrayList<>();
+		for (int y = 0; y < side; y++) {
+			StringBuilder line = new StringBuilder();
+			for (int x = 0; x < side; x++) {
+				line.append(x + y > 0 && random.nextInt(4) == 0 ? '#' : '.');
+			}
+			lines.add(line.toString());
+		}
+		grid = CharGrid.of(lines);
+	}
+
+	@Benchmark
+	public int charGrid() {
+		DenseIntSet visited = new DenseIntSet(grid.size());
+		IntDeque frontier = new IntDeque();
+		int[] neighbours = new int[4];
+		visited.add(0);
+		frontier.addLast(0);
+		while (!frontier.isEmpty()) {
+			int cell = frontier.pollFirst();
+			int count = grid.neighbours(cell, neighbours);
+			for (int i = 0; i < count; i++) {
+				if (grid.get(neighbours[i]) != '#' && visited.add(neighbours[i])) {
+					frontier.addLast(neighbours[i]);
+				}
+			}
+		}
+		return visited.size();
+	}
+
+	@Benchmark
+	public int points() {
+		Set<Point> visited = new HashSet<>();
+		Deque<Point> frontier = new ArrayDeque<>();
+		visited.add(new Point(0, 0));
+		frontier.add(new Point(0, 0));
+		while (!frontier.isEmpty()) {
+			Point point = frontier.poll();
+			for (int[] direction : DIRECTIONS) {
+				Point neighbour = new Point(point.x() + direction[0], point.y() + direction[1]);
+				if (neighbour.x() >= 0 && neighbour.x() < side && neighbour.y() >= 0 && neighbour.y() < side &&
+						lines.get(neighbour.y()).charAt(neighbour.x()) != '#' && visited.add(neighbour)) {
+					frontier.add(neighbour);
+				}
+			}
+		}
+		return visited.size();
+	}
+
+	private record Point(int x, int y) {
+	}
+}
@@ -0,0 +1,76 @@
+package com.pawanhegde.advent.benchmark.util;
+
+import com.pawanhegde.advent.util.LongMinHeap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pushes and pops entries in the pattern of Dijkstra's algorithm, with {@link LongMinHeap} against a
+ * {@link PriorityQueue} of records.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class HeapBenchmark {
+	@Param({"1000", "100000"})
+	public int size;
+
+	private long[] costs;
+
+	@Setup
+	public void setUp() {
+		Random random = new Random(42);
+		costs = new long[size];
+		for (int i = 0; i < size; i++) {
+			costs[i] = 1 + random.nextInt(9);
+		}
+	}
+
+	@Benchmark
+	public long longMinHeap() {
+		LongMinHeap heap = new LongMinHeap();
+		long total = 0;
+		heap.push(0, 0);
+		for (int i = 1; i < size; i++) {
+			long priority = heap.peekPriority();
+			total += heap.pop();
+			heap.push(priority + costs[i], i);
+			heap.push(priority + costs[i - 1], i);
+		}
+		return total;
+	}
+
+	@Benchmark
+	public long priorityQueue() {
+		PriorityQueue<Entry> queue = new PriorityQueue<>(Comparator.comparingLong(Entry::priority));
+		long total = 0;
+		queue.add(new Entry(0, 0));
+		for (int i = 1; i < size; i++) {
+			Entry entry = queue.poll();
+			total += entry.value();
+			queue.add(new Entry(entry.priority() + costs[i], i));
+			queue.add(new Entry(entry.priority() + costs[i - 1], i));
+		}
+		return total;
+	}
+
+	private record Entry(long priority, long value) {
+	}
+}
@@ -0,0 +1,86 @@
+package com.pawanhegde.advent.benchmark.util;
+
+import com.pawanhegde.advent.util.Coordinates;
+import com.pawanhegde.advent.util.LongLongMap;
+import com.pawanhegde.advent.util.LongSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts visits to packed coordinates, the way a simulation over an unbounded grid does, with {@link LongLongMap} and
+ * {@link LongSet} against their boxed counterparts in the JDK.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class MapBenchmark {
+	@Param({"1000", "100000"})
+	public int size;
+
+	private long[] keys;
+
+	@Setup
+	public void setUp() {
+		Random random = new Random(42);
+		keys = new long[size * 4];
+		int side = (int) Math.sqrt(size);
+		for (int i = 0; i < keys.length; i++) {
+			keys[i] = Coordinates.pack(random.nextInt(side) - side / 2, random.nextInt(side) - side / 2);
+		}
+	}
+
+	@Benchmark
+	public long longLongMap() {
+		LongLongMap counts = new LongLongMap();
+		for (long key : keys) {
+			counts.addTo(key, 1);
+		}
+		return counts.size();
+	}
+
+	@Benchmark
+	public long hashMap() {
+		Map<Long, Long> counts = new HashMap<>();
+		for (long key : keys) {
+			counts.merge(key, 1L, Long::sum);
+		}
+		return counts.size();
+	}
+
+	@Benchmark
+	public long longSet() {
+		LongSet seen = new LongSet();
+		for (long key : keys) {
+			seen.add(key);
+		}
+		return seen.size();
+	}
+
+	@Benchmark
+	public long hashSet() {
+		Set<Long> seen = new HashSet<>();
+		for (long key : keys) {
+			seen.add(key);
+		}
+		return seen.size();
+	}
+}
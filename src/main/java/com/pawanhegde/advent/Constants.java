@@ -5,6 +5,7 @@ public final class Constants {
 	public static final String INCORRECT = "That's not the right answer";
 	public static final String TOO_LOW = "your answer is too low";
 	public static final String TOO_HIGH = "your answer is too high";
+	public static final String TOO_RECENT = "You gave an answer too recently";
 	public static final String ALREADY_SOLVED = "Did you already complete it";
 	public static final String NOT_OPEN_YET = "Please don't repeatedly request this endpoint before it unlocks! " +
 			"The calendar countdown is synchronized with the server time; " +
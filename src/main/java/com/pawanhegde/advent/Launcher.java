@@ -0,0 +1,29 @@
+package com.pawanhegde.advent;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Entry-point for running the solutions in the given classes from the command line, for example with
+ * {@code ./gradlew aocRun -Psolutions=com.example.Year2023}.
+ * <p>
+ * Only what a run actually needs is loaded. The submissions, the HTTP client and the JSON library are left alone
+ * unless a solution is submitted automatically, and the Gradle tasks can start the JVM from a class data sharing
+ * archive of the classes that an earlier run loaded, so that the answer of a quick solution shows up sooner.
+ */
+public class Launcher {
+	private Launcher() {
+	}
+
+	public static void main(String... classNames) throws ClassNotFoundException {
+		if (classNames.length == 0) {
+			throw new AocException("Pass the names of the classes with the solutions to run");
+		}
+
+		List<Class<?>> classes = new ArrayList<>();
+		for (String className : classNames) {
+			classes.add(Class.forName(className));
+		}
+		Runner.run(classes.toArray(new Class<?>[0]));
+	}
+}
@@ -1,7 +1,16 @@
 package com.pawanhegde.advent;
 
+import com.pawanhegde.advent.helper.AccountSync;
+import com.pawanhegde.advent.helper.ParallelExecutor;
+import com.pawanhegde.advent.helper.RunReport;
+import com.pawanhegde.advent.helper.SolutionScanner;
 import com.pawanhegde.advent.helper.SolutionSupplier;
+import com.pawanhegde.advent.helper.SolutionWatcher;
 import com.pawanhegde.advent.helper.SubmissionHelper;
+import com.pawanhegde.advent.helper.SubmissionQueue;
+import com.pawanhegde.advent.model.SolutionFilter;
+
+import java.time.Duration;
 
 /**
  * Entry-point for running Advent of Code solutions.
@@ -15,5 +24,75 @@ public class Runner {
 		for (Class<?> aClass : classes) {
 			SolutionSupplier.getAocSolutions(aClass).forEach(SubmissionHelper::attempt);
 		}
+		SubmissionQueue.awaitPending();
+		Settings.reportFile().ifPresent(RunReport::write);
+	}
+
+	/**
+	 * Runs all the solutions in a package and its sub-packages.
+	 *
+	 * @param packageName the package with the solutions, such as {@code com.example.aoc}
+	 */
+	public static void runPackage(String packageName) {
+		runPackage(packageName, SolutionFilter.all());
+	}
+
+	/**
+	 * Runs the solutions in a package and its sub-packages that pass the filter. Classes that have not changed since
+	 * the last scan, and have no solutions that pass the filter, are not loaded at all.
+	 *
+	 * @param packageName the package with the solutions, such as {@code com.example.aoc}
+	 * @param filter      selects the solutions to run
+	 */
+	public static void runPackage(String packageName, SolutionFilter filter) {
+		SolutionScanner.scan(packageName, filter).forEach(SubmissionHelper::attempt);
+		SubmissionQueue.awaitPending();
+		Settings.reportFile().ifPresent(RunReport::write);
+	}
+
+	/**
+	 * Same as {@link #run(Class[])}, but runs the solutions in parallel. The parallelism and the timeout for each
+	 * solution are taken from {@link Settings}.
+	 */
+	public static void runInParallel(Class<?>... classes) {
+		runInParallel(Settings.parallelism(), Settings.timeout(), classes);
+	}
+
+	/**
+	 * Same as {@link #run(Class[])}, but runs up to {@code parallelism} solutions at the same time. The results are
+	 * still printed in the same order as {@link #run(Class[])} would print them.
+	 *
+	 * @param parallelism the maximum number of solutions to run at the same time
+	 * @param timeout     how long a single solution may run before it is given up on
+	 * @param classes     the classes containing the solutions
+	 */
+	public static void runInParallel(int parallelism, Duration timeout, Class<?>... classes) {
+		ParallelExecutor.attemptAll(SolutionSupplier.collectAocSolutions(classes), parallelism, timeout);
+		SubmissionQueue.awaitPending();
+		Settings.reportFile().ifPresent(RunReport::write);
+	}
+
+	/**
+	 * Runs the solutions in the classes, and then runs them again whenever they or their inputs change, without
+	 * restarting the JVM. Something else has to compile the classes, such as the IDE or
+	 * {@code ./gradlew --continuous classes}.
+	 *
+	 * @param classes the classes containing the solutions
+	 * @see SolutionWatcher
+	 */
+	public static void watch(Class<?>... classes) {
+		SolutionWatcher.watch(classes);
+	}
+
+	/**
+	 * Caches the answers of all the puzzles of the given years that have already been solved on the account, so that
+	 * they are skipped from the start instead of being submitted again.
+	 *
+	 * @param fromYear the first year to sync
+	 * @param toYear   the last year to sync, inclusive
+	 * @see AccountSync
+	 */
+	public static void sync(int fromYear, int toYear) {
+		AccountSync.sync(fromYear, toYear);
 	}
 }
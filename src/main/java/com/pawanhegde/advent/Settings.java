@@ -0,0 +1,116 @@
+package com.pawanhegde.advent;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.OptionalLong;
+
+/**
+ * Run-time settings, read from system properties so that they can be tweaked without touching the solutions.
+ * For example, {@code -Daoc.parallelism=4 -Daoc.timeout=PT30S}.
+ */
+public final class Settings {
+	private Settings() {
+	}
+
+	/**
+	 * @return the number of solutions that may run at the same time in a parallel run
+	 */
+	public static int parallelism() {
+		return Integer.getInteger("aoc.parallelism", Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * @return how long a single solution may run before it is given up on, as an ISO-8601 duration
+	 */
+	public static Duration timeout() {
+		return Duration.parse(System.getProperty("aoc.timeout", "PT5M"));
+	}
+
+	/**
+	 * @return how much a single run of a solution may allocate on the heap, if there is a limit. Sizes can be given in
+	 * bytes or with a suffix of k, m or g, such as {@code -Daoc.memory.budget=2g}.
+	 */
+	public static OptionalLong memoryBudget() {
+		String budget = System.getProperty("aoc.memory.budget");
+		return budget == null ? OptionalLong.empty() : OptionalLong.of(parseSize(budget));
+	}
+
+	/**
+	 * @return true if every run of a solution should happen in a JVM of its own, which can be killed outright if the
+	 * solution doesn't stop on its own
+	 */
+	public static boolean isolate() {
+		return Boolean.getBoolean("aoc.isolate");
+	}
+
+	/**
+	 * @return the maximum heap size of the JVMs that solutions are isolated in, such as {@code 512m}, if it should be
+	 * different from the default
+	 */
+	public static Optional<String> isolatedMaxHeap() {
+		return Optional.ofNullable(System.getProperty("aoc.isolate.xmx"));
+	}
+
+	/**
+	 * @return true if solutions should be run even if they and their input haven't changed since they were last run
+	 */
+	public static boolean rerun() {
+		return Boolean.getBoolean("aoc.rerun");
+	}
+
+	/**
+	 * @return the address of the Advent of Code server, {@code https://adventofcode.com/} by default. It can point at
+	 * a local stand-in instead, such as {@link com.pawanhegde.advent.stub.AocStubServer}.
+	 */
+	public static URI baseUri() {
+		String url = System.getProperty("aoc.url", "https://adventofcode.com/");
+		// The paths of the requests are resolved against it, which drops the last segment unless it ends with a '/'
+		return URI.create(url.endsWith("/") ? url : url + "/");
+	}
+
+	/**
+	 * @return the file with the session token, {@code ~/.config/aocd/token} by default
+	 */
+	public static Path tokenFile() {
+		return Optional.ofNullable(System.getProperty("aoc.token.file")).map(Path::of)
+				.orElseGet(() -> Path.of(System.getProperty("user.home"), ".config", "aocd", "token"));
+	}
+
+	/**
+	 * @return the minimum time between two requests to adventofcode.com, as an ISO-8601 duration
+	 */
+	public static Duration requestInterval() {
+		return Duration.parse(System.getProperty("aoc.request.interval", "PT1S"));
+	}
+
+	/**
+	 * @return the folder with everything that is remembered between runs, such as the submissions. Several processes
+	 * may share it.
+	 */
+	public static Path cacheFolder() {
+		return Path.of(System.getProperty("aoc.cache.dir", "/tmp/aoc"));
+	}
+
+	/**
+	 * @return where to write the timings of the run, if anywhere. Files ending in .csv are written as CSV, the rest as
+	 * JSON.
+	 */
+	public static Optional<Path> reportFile() {
+		return Optional.ofNullable(System.getProperty("aoc.report")).map(Path::of);
+	}
+
+	private static long parseSize(String size) {
+		String normalized = size.strip().toLowerCase(Locale.ROOT);
+		long multiplier = switch (normalized.charAt(normalized.length() - 1)) {
+			case 'k' -> 1L << 10;
+			case 'm' -> 1L << 20;
+			case 'g' -> 1L << 30;
+			default -> 1;
+		};
+		String number = multiplier == 1 ? normalized : normalized.substring(0, normalized.length() - 1);
+		return Long.parseLong(number) * multiplier;
+	}
+}
@@ -0,0 +1,26 @@
+package com.pawanhegde.advent.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+
+/**
+ * Annotation to mark a method as the parser of a day's input, which both parts of the day can share.
+ * The method must be public, and take a single argument of any type that a solution could take, such as a String.
+ * Solutions of the same day in the same class that take exactly the type that the parser returns, type arguments
+ * included, are given its result instead of the raw input. Types that solutions can take without a parser, such as
+ * String or List&lt;String&gt;, are always adapted from the raw input, so the parser should return a type of its own.
+ * The input is parsed only once, even when both parts run at the same time, and the result is reused as long as the
+ * input doesn't change. Since both parts share it, it must not be modified.
+ *
+ * @see com.pawanhegde.advent.annotation.AdventOfCode
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Parser {
+	int year();
+
+	int day();
+}
@@ -0,0 +1,96 @@
+package com.pawanhegde.advent.helper;
+
+import com.pawanhegde.advent.AocException;
+import com.pawanhegde.advent.model.ProblemId;
+import com.pawanhegde.advent.model.Submission;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.pawanhegde.advent.helper.Instrumentation.measure;
+import static com.pawanhegde.advent.model.Phase.NETWORK;
+import static com.pawanhegde.advent.util.Log.error;
+import static com.pawanhegde.advent.util.Log.info;
+
+/**
+ * Fills the cache with the answers of every puzzle that has been solved on the account, as shown on the pages of the
+ * days. After a sync, solved puzzles are known to be solved without submitting anything, even on a fresh machine.
+ */
+public class AccountSync {
+	private static final int FIRST_YEAR = 2015;
+	private static final int SYNC_THREADS = 4;
+	// The last day only has one puzzle, and its second star is given away for free
+	private static final int LAST_DAY = 25;
+
+	private AccountSync() {
+	}
+
+	/**
+	 * Fetches the pages of all the days of the years that have been released, except for the days that are already
+	 * known to be solved, and caches the answers on them. The pages are fetched concurrently, although
+	 * {@link AocClient} still spaces out the requests. Pages that can't be fetched are reported and skipped.
+	 *
+	 * @param fromYear the first year to sync
+	 * @param toYear   the last year to sync, inclusive
+	 */
+	public static void sync(int fromYear, int toYear) {
+		List<ProblemId> days = new ArrayList<>();
+		for (int year = Math.max(fromYear, FIRST_YEAR); year <= toYear; year++) {
+			for (int day = 1; day <= InputHelper.lastReleasedDay(year); day++) {
+				if (!isSolved(year, day)) {
+					days.add(new ProblemId(year, day, 1));
+				}
+			}
+		}
+		if (days.isEmpty()) {
+			info("All the days from " + fromYear + " to " + toYear + " are already known to be solved");
+			return;
+		}
+
+		info("Syncing " + days.size() + " days from the account...");
+		ExecutorService executor = Executors.newFixedThreadPool(Math.min(SYNC_THREADS, days.size()));
+		List<Submission> submissions = new ArrayList<>();
+		try {
+			List<Future<List<Submission>>> pages = days.stream()
+					.map(problemId -> executor.submit(() -> fetchCorrectAnswers(problemId)))
+					.toList();
+			for (Future<List<Submission>> page : pages) {
+				submissions.addAll(page.get());
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new AocException("Interrupted while syncing the account", e);
+		} catch (ExecutionException e) {
+			throw new AocException("Could not sync the account", e.getCause());
+		} finally {
+			executor.shutdownNow();
+		}
+
+		// Everything is cached in one go, instead of one write for every day
+		List<Submission> newSubmissions = submissions.stream()
+				.filter(submission -> !CacheManager.isSubmittedSuccessfully(submission.problemId()))
+				.toList();
+		CacheManager.cache(newSubmissions);
+		info("Found the answers to " + newSubmissions.size() + " more puzzles");
+	}
+
+	private static boolean isSolved(int year, int day) {
+		return CacheManager.isSubmittedSuccessfully(new ProblemId(year, day, 1))
+				&& (day == LAST_DAY || CacheManager.isSubmittedSuccessfully(new ProblemId(year, day, 2)));
+	}
+
+	private static List<Submission> fetchCorrectAnswers(ProblemId problemId) {
+		try {
+			List<String> correctAnswers = measure(problemId, NETWORK,
+					() -> ProblemPages.getCorrectAnswers(problemId));
+			return SubmissionHelper.createSubmissions(problemId, correctAnswers);
+		} catch (AocException e) {
+			error("Could not sync " + problemId.year() + " day " + problemId.day() + ": " + e.getMessage());
+			return List.of();
+		}
+	}
+}
@@ -0,0 +1,81 @@
+package com.pawanhegde.advent.helper;
+
+import com.pawanhegde.advent.model.Submission;
+import com.pawanhegde.advent.model.SubmissionStatus;
+
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static com.pawanhegde.advent.model.SubmissionStatus.*;
+
+/**
+ * Everything that the previous submissions for a problem tell us about a new answer: the correct answer, if it is
+ * known, what the server said about each answer that was submitted, and the tightest bounds that the "too low" and
+ * "too high" responses put on the answer. It is kept up to date as submissions are added, so that judging an answer
+ * doesn't need to go through all of them.
+ */
+class AnswerIndex {
+	private final Map<String, SubmissionStatus> statuses = new HashMap<>();
+	private String correctAnswer;
+	private BigInteger highestTooLow;
+	private BigInteger lowestTooHigh;
+
+	synchronized void add(Submission submission) {
+		String answer = submission.answer();
+		SubmissionStatus status = submission.status();
+		if (UNKNOWN == status || RATE_LIMITED == status) {
+			return;
+		}
+		statuses.put(answer, status);
+
+		if (CORRECT == status) {
+			correctAnswer = answer;
+		}
+		Optional<BigInteger> number = toNumber(answer);
+		if (number.isPresent() && TOO_LOW == status) {
+			highestTooLow = highestTooLow == null ? number.get() : highestTooLow.max(number.get());
+		}
+		if (number.isPresent() && TOO_HIGH == status) {
+			lowestTooHigh = lowestTooHigh == null ? number.get() : lowestTooHigh.min(number.get());
+		}
+	}
+
+	synchronized boolean isSolved() {
+		return correctAnswer != null;
+	}
+
+	/**
+	 * @return what the server would say about the answer, or {@link SubmissionStatus#UNKNOWN} if that can't be told
+	 * without submitting it
+	 */
+	synchronized SubmissionStatus judge(String answer) {
+		SubmissionStatus status = statuses.get(answer);
+		if (status != null) {
+			return status;
+		}
+
+		Optional<BigInteger> number = toNumber(answer);
+		if (correctAnswer != null) {
+			return number.flatMap(n -> toNumber(correctAnswer).map(n::compareTo))
+					.map(comparison -> comparison < 0 ? TOO_LOW : TOO_HIGH)
+					.orElse(INCORRECT);
+		}
+		if (number.isPresent() && highestTooLow != null && number.get().compareTo(highestTooLow) <= 0) {
+			return TOO_LOW;
+		}
+		if (number.isPresent() && lowestTooHigh != null && number.get().compareTo(lowestTooHigh) >= 0) {
+			return TOO_HIGH;
+		}
+		return UNKNOWN;
+	}
+
+	private static Optional<BigInteger> toNumber(String answer) {
+		try {
+			return Optional.of(new BigInteger(answer.strip()));
+		} catch (NumberFormatException | NullPointerException e) {
+			return Optional.empty();
+		}
+	}
+}
@@ -0,0 +1,238 @@
+package com.pawanhegde.advent.helper;
+
+import com.pawanhegde.advent.AocException;
+import com.pawanhegde.advent.Settings;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+
+import static com.pawanhegde.advent.util.Log.warn;
+
+/**
+ * The one way to talk to adventofcode.com. A single client is shared by the whole process, so that connections (and
+ * their TLS handshakes) are reused across downloads and submissions.
+ * <p>
+ * In line with the <a href="https://www.reddit.com/r/adventofcode/wiki/faqs/automation">automation guidelines</a>,
+ * every request identifies this library in its User-Agent, and requests are spaced out by
+ * {@link Settings#requestInterval()}. A GET that fails with a server error is sent again a couple of times, waiting
+ * twice as long each time, starting at the request interval. A POST is never sent again, since the server might have
+ * taken the answer before failing. The shared client talks to {@link Settings#baseUri()}, which can be pointed at a
+ * local stand-in for testing.
+ */
+public class AocClient {
+	private static final String USER_AGENT = "github.com/PawanHegde/advent-of-code-java";
+	private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(10);
+	private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+	private static final int MAX_ATTEMPTS = 3;
+
+	private final URI baseUri;
+	private final Supplier<String> token;
+	private final Duration requestInterval;
+	private final RateLimiter rateLimiter;
+	private final HttpClient client = HttpClient.newBuilder()
+			.version(HttpClient.Version.HTTP_2)
+			.connectTimeout(CONNECT_TIMEOUT)
+			.build();
+	private String cachedToken;
+
+	/**
+	 * Creates a client for a server other than adventofcode.com, for example a local stub.
+	 *
+	 * @param baseUri         the URI that the paths of the requests are resolved against
+	 * @param token           supplies the session token. It is only called once, when it is first needed.
+	 * @param requestInterval the minimum time between the start of two requests
+	 */
+	public AocClient(URI baseUri, Supplier<String> token, Duration requestInterval) {
+		this.baseUri = baseUri;
+		this.token = token;
+		this.requestInterval = requestInterval;
+		this.rateLimiter = new RateLimiter(requestInterval);
+	}
+
+	/**
+	 * @return the client that is shared by the whole process
+	 */
+	public static AocClient shared() {
+		return Holder.SHARED;
+	}
+
+	/**
+	 * Sends a GET request.
+	 *
+	 * @param path the path of the resource, relative to the base URI, such as {@code 2023/day/1/input}
+	 * @return the response, with its body decompressed if needed
+	 */
+	public HttpResponse<String> get(String path) {
+		return send(newRequest(path).GET(), AocClient::decompressingBodyHandler);
+	}
+
+	/**
+	 * Sends a form as a POST request.
+	 *
+	 * @param path the path of the resource, relative to the base URI, such as {@code 2023/day/1/answer}
+	 * @param form the URL-encoded form
+	 * @return the response, with its body decompressed if needed
+	 */
+	public HttpResponse<String> post(String path, String form) {
+		return send(newRequest(path)
+				.setHeader("Content-Type", "application/x-www-form-urlencoded")
+				.POST(HttpRequest.BodyPublishers.ofString(form)), AocClient::decompressingBodyHandler);
+	}
+
+	/**
+	 * Sends a GET request, without reading the body of the response. This saves reading all of a large page when
+	 * only a part of it is needed.
+	 *
+	 * @param path    the path of the resource, relative to the base URI, such as {@code 2023/day/1}
+	 * @param headers additional headers to send, such as {@code If-None-Match}
+	 * @return the response, with a body that is decompressed as it is read. The body must be closed.
+	 */
+	public HttpResponse<InputStream> getStream(String path, Map<String, String> headers) {
+		HttpRequest.Builder request = newRequest(path).GET();
+		headers.forEach(request::setHeader);
+		return send(request, AocClient::decompressingStreamHandler);
+	}
+
+	/**
+	 * Sends a form as a POST request, without reading the body of the response.
+	 *
+	 * @param path the path of the resource, relative to the base URI, such as {@code 2023/day/1/answer}
+	 * @param form the URL-encoded form
+	 * @return the response, with a body that is decompressed as it is read. The body must be closed.
+	 */
+	public HttpResponse<InputStream> postStream(String path, String form) {
+		return send(newRequest(path)
+				.setHeader("Content-Type", "application/x-www-form-urlencoded")
+				.POST(HttpRequest.BodyPublishers.ofString(form)), AocClient::decompressingStreamHandler);
+	}
+
+	private HttpRequest.Builder newRequest(String path) {
+		return HttpRequest.newBuilder()
+				.uri(baseUri.resolve(path))
+				.timeout(REQUEST_TIMEOUT)
+				.setHeader("Cookie", "session=" + getToken())
+				.setHeader("User-Agent", USER_AGENT)
+				.setHeader("Accept-Encoding", "gzip");
+	}
+
+	private synchronized String getToken() {
+		if (cachedToken == null) {
+			cachedToken = token.get().strip();
+		}
+		return cachedToken;
+	}
+
+	private <T> HttpResponse<T> send(HttpRequest.Builder builder, HttpResponse.BodyHandler<T> bodyHandler) {
+		HttpRequest request = builder.build();
+		int maxAttempts = "GET".equals(request.method()) ? MAX_ATTEMPTS : 1;
+		for (int attempt = 1; ; attempt++) {
+			rateLimiter.acquire();
+			HttpResponse<T> response;
+			try {
+				response = client.send(request, bodyHandler);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new AocException("Interrupted while waiting for a response from the server", e);
+			} catch (IOException | UncheckedIOException e) {
+				throw new AocException("Could not get a response from the server", e);
+			}
+			if (response.statusCode() < 500 || attempt == maxAttempts) {
+				return response;
+			}
+
+			discard(response);
+			Duration backoff = requestInterval.multipliedBy(1L << (attempt - 1));
+			warn(request.uri() + " failed with HTTP " + response.statusCode() + ". Trying again in " + backoff +
+					"...");
+			sleep(backoff);
+		}
+	}
+
+	private static void discard(HttpResponse<?> response) {
+		if (response.body() instanceof InputStream body) {
+			try {
+				body.close();
+			} catch (IOException e) {
+				// Nothing more is read from it anyway
+			}
+		}
+	}
+
+	private static void sleep(Duration duration) {
+		try {
+			Thread.sleep(duration.toMillis());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new AocException("Interrupted while waiting to send a request again", e);
+		}
+	}
+
+	private static HttpResponse.BodySubscriber<String> decompressingBodyHandler(HttpResponse.ResponseInfo info) {
+		boolean gzipped = info.headers().firstValue("Content-Encoding").filter("gzip"::equalsIgnoreCase).isPresent();
+		return HttpResponse.BodySubscribers.mapping(HttpResponse.BodySubscribers.ofByteArray(),
+				bytes -> new String(gzipped ? gunzip(bytes) : bytes, StandardCharsets.UTF_8));
+	}
+
+	private static HttpResponse.BodySubscriber<InputStream> decompressingStreamHandler(
+			HttpResponse.ResponseInfo info) {
+		boolean gzipped = info.headers().firstValue("Content-Encoding").filter("gzip"::equalsIgnoreCase).isPresent();
+		// The gzip header can only be read once the body starts coming in, so the decompression has to wait until then
+		return HttpResponse.BodySubscribers.mapping(HttpResponse.BodySubscribers.ofInputStream(),
+				in -> gzipped ? new LazyGzipInputStream(in) : in);
+	}
+
+	private static byte[] gunzip(byte[] bytes) {
+		try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+			return in.readAllBytes();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static class LazyGzipInputStream extends InputStream {
+		private final InputStream compressed;
+		private InputStream decompressed;
+
+		private LazyGzipInputStream(InputStream compressed) {
+			this.compressed = compressed;
+		}
+
+		@Override
+		public int read() throws IOException {
+			return decompressed().read();
+		}
+
+		@Override
+		public int read(byte[] bytes, int offset, int length) throws IOException {
+			return decompressed().read(bytes, offset, length);
+		}
+
+		@Override
+		public void close() throws IOException {
+			compressed.close();
+		}
+
+		private InputStream decompressed() throws IOException {
+			if (decompressed == null) {
+				decompressed = new GZIPInputStream(compressed);
+			}
+			return decompressed;
+		}
+	}
+
+	private static class Holder {
+		private static final AocClient SHARED =
+				new AocClient(Settings.baseUri(), TokenHelper::fetchToken, Settings.requestInterval());
+	}
+}
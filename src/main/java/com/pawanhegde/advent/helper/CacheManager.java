@@ -1,119 +1,60 @@
 package com.pawanhegde.advent.helper;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.pawanhegde.advent.AocException;
 import com.pawanhegde.advent.model.ProblemId;
 import com.pawanhegde.advent.model.Submission;
 import com.pawanhegde.advent.model.SubmissionStatus;
 
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-
-import static com.pawanhegde.advent.model.SubmissionStatus.*;
-import static java.util.Arrays.asList;
-import static java.util.Collections.emptyList;
-
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers the answers that were submitted for each problem, and what the server said about them, so that the same
+ * answer is never submitted twice. The submissions are stored in a {@link SubmissionJournal}, and the journal of a
+ * problem is only read the first time the problem is looked at.
+ * <p>
+ * Other processes may add to the journals at the same time. When what is known about a problem doesn't settle a
+ * question, its journal is read again if it has changed in the meantime, and whatever is new in it is merged in.
+ */
 public class CacheManager {
-	private static final Path CACHE_FILE = Path.of("/tmp/aoc/cache.json");
-	private static final Map<ProblemId, List<Submission>> CACHE = new HashMap<>();
-
-	static {
-		initialize();
-	}
+	// Solutions may run in parallel, so the cache has to be safe to read and update from several threads.
+	private static final Map<ProblemId, AnswerIndex> CACHE = new ConcurrentHashMap<>();
+	private static final Map<ProblemId, String> VERSIONS = new ConcurrentHashMap<>();
 
 	private CacheManager() {
 	}
 
 	public static void cache(List<Submission> submissions) {
-		submissions.forEach(s -> CACHE.computeIfAbsent(s.problemId(), k -> new ArrayList<>()).add(s));
+		SubmissionJournal.append(submissions);
+		submissions.forEach(s -> indexFor(s.problemId()).add(s));
 	}
 
 	public static boolean isSubmittedSuccessfully(ProblemId problemId) {
-		return CACHE.getOrDefault(problemId, emptyList()).stream().anyMatch(s -> CORRECT == s.status());
+		return indexFor(problemId).isSolved() || refresh(problemId).isSolved();
 	}
 
 	public static SubmissionStatus judgeBasedOnPreviousSubmissions(ProblemId problemId, String answer) {
-		for (Submission submission : CACHE.getOrDefault(problemId, emptyList())) {
-			if (submission.answer().equals(answer)) {
-				return submission.status();
-			}
-
-			if (isNumeric(submission.answer()) && isNumeric(answer)) {
-				return judgeNumericAnswer(submission, answer);
-			}
-		}
-		return SubmissionStatus.UNKNOWN;
-	}
-
-	private static void initialize() {
-		try {
-			createCacheFileIfNotExists();
-			populateCacheFromFile();
-		} catch (IOException e) {
-			throw new AocException("Could not initialize the cache", e);
-		}
-
-		addShutdownHook();
-	}
-
-	private static void createCacheFileIfNotExists() throws IOException {
-		if (Files.notExists(CACHE_FILE)) {
-			Files.createDirectories(CACHE_FILE.getParent());
-			Files.createFile(CACHE_FILE);
-		}
-	}
-
-	private static void populateCacheFromFile() throws IOException {
-		String jsonContent = Files.readString(CACHE_FILE);
-		if (!jsonContent.isBlank()) {
-			List<Submission> submissions = new ObjectMapper().readValue(jsonContent, new TypeReference<>() {
-			});
-			submissions.forEach(s -> CACHE.computeIfAbsent(s.problemId(), k -> new ArrayList<>()).add(s));
-		}
-	}
-
-	private static void addShutdownHook() {
-		Runtime.getRuntime().addShutdownHook(new Thread(() -> {
-			try {
-				writeCacheToFile();
-			} catch (IOException e) {
-				throw new AocException("Could not update the cache", e);
-			}
-		}));
-	}
-
-	private static void writeCacheToFile() throws IOException {
-		List<Submission> submissions = CACHE.values().stream().flatMap(List::stream).toList();
-		new ObjectMapper().writeValue(CACHE_FILE.toFile(), submissions);
-	}
-
-	private static SubmissionStatus judgeNumericAnswer(Submission submission, String answer) {
-		double currentAnswer = Double.parseDouble(answer);
-		double previousAnswer = Double.parseDouble(submission.answer());
-		SubmissionStatus previousStatus = submission.status();
-		if (currentAnswer < previousAnswer && asList(TOO_LOW, CORRECT).contains(previousStatus)) {
-			return TOO_LOW;
-		}
-
-		if (currentAnswer > previousAnswer && asList(TOO_HIGH, CORRECT).contains(previousStatus)) {
-			return TOO_HIGH;
-		}
-
-		return SubmissionStatus.UNKNOWN;
-	}
-
-	private static boolean isNumeric(String strNum) {
-		try {
-			Double.parseDouble(strNum);
-			return true;
-		} catch (NumberFormatException | NullPointerException e) {
-			return false;
+		SubmissionStatus status = indexFor(problemId).judge(answer);
+		return SubmissionStatus.UNKNOWN == status ? refresh(problemId).judge(answer) : status;
+	}
+
+	private static AnswerIndex indexFor(ProblemId problemId) {
+		return CACHE.computeIfAbsent(problemId, p -> {
+			AnswerIndex index = new AnswerIndex();
+			// The version is taken before reading, so that a change made while reading is read again later
+			VERSIONS.put(p, SubmissionJournal.version(p));
+			SubmissionJournal.read(p).forEach(index::add);
+			return index;
+		});
+	}
+
+	private static AnswerIndex refresh(ProblemId problemId) {
+		AnswerIndex index = indexFor(problemId);
+		String version = SubmissionJournal.version(problemId);
+		if (!version.equals(VERSIONS.put(problemId, version))) {
+			// Adding a submission that the index already has changes nothing, so the whole journal can be merged in
+			SubmissionJournal.read(problemId).forEach(index::add);
 		}
+		return index;
 	}
 }
@@ -0,0 +1,213 @@
+package com.pawanhegde.advent.helper;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * An input that is processed in line-aligned chunks across all cores, for inputs far too large to be read into a
+ * single String. Solutions opt into it by accepting a {@code ChunkedInput} instead of a String.
+ * <p>
+ * Large inputs are memory-mapped by the {@link InputStore}, and the chunks are only views of the mapped file, so
+ * processing an input this way only takes as much heap as the lines or records that are being worked on at the time.
+ * Lines are split on '\n', with a trailing '\r' dropped, and records are groups of lines separated by blank lines.
+ * <p>
+ * The streams are parallel, and keep the order of the input for the operations that care about it.
+ */
+public final class ChunkedInput {
+	// Below this, splitting up the work costs more than it saves
+	private static final int MIN_CHUNK_SIZE = 1 << 16;
+	// More chunks than threads, so that threads that finish early can take over the work of the others
+	private static final int CHUNKS_PER_THREAD = 4;
+
+	private final ByteBuffer bytes;
+
+	private ChunkedInput(ByteBuffer bytes) {
+		this.bytes = bytes.slice().asReadOnlyBuffer();
+	}
+
+	/**
+	 * @param bytes the input, from its position to its limit
+	 */
+	public static ChunkedInput of(ByteBuffer bytes) {
+		return new ChunkedInput(bytes);
+	}
+
+	/**
+	 * @return the size of the input in bytes
+	 */
+	public int size() {
+		return bytes.capacity();
+	}
+
+	/**
+	 * @return the lines of the input, as a parallel stream
+	 */
+	public Stream<String> lines() {
+		return StreamSupport.stream(new SegmentSpliterator(bytes, 0, bytes.capacity(), false), true);
+	}
+
+	/**
+	 * @return the groups of lines of the input that are separated by blank lines, as a parallel stream. The lines
+	 * within a record keep their line terminators.
+	 */
+	public Stream<String> records() {
+		return StreamSupport.stream(new SegmentSpliterator(bytes, 0, bytes.capacity(), true), true);
+	}
+
+	/**
+	 * Splits the input into chunks that each end at the end of a line, about one for every few threads of the common
+	 * {@link ForkJoinPool}.
+	 *
+	 * @return read-only views of the chunks, as a parallel stream
+	 */
+	public Stream<ByteBuffer> chunks() {
+		int count = Math.max(1, Math.min(bytes.capacity() / MIN_CHUNK_SIZE,
+				ForkJoinPool.getCommonPoolParallelism() * CHUNKS_PER_THREAD));
+		List<ByteBuffer> chunks = new ArrayList<>(count);
+		int start = 0;
+		for (int i = 1; i <= count && start < bytes.capacity(); i++) {
+			int end = i == count ? bytes.capacity()
+					: nextLineStart(bytes, (int) ((long) bytes.capacity() * i / count), bytes.capacity());
+			if (end > start) {
+				chunks.add(bytes.slice(start, end - start));
+				start = end;
+			}
+		}
+		return chunks.parallelStream();
+	}
+
+	/**
+	 * Maps every chunk of the input on its own thread, and then combines the results in the order of the chunks. The
+	 * mapper works on the bytes directly, so that it can scan them without allocating anything.
+	 * <p>
+	 * For example, to add up a number on every line:
+	 * <pre>{@code
+	 * long total = input.mapReduce(chunk -> ChunkedInput.of(chunk).lines().sequential()
+	 *         .mapToLong(Long::parseLong).sum(), Long::sum);
+	 * }</pre>
+	 *
+	 * @param mapper   computes the partial result of a chunk. It must not rely on the chunks being split in a
+	 *                 particular way, other than that they end at the end of a line.
+	 * @param combiner combines two partial results, the earlier one first
+	 * @return the combined result, or the result of mapping an empty chunk if the input is empty
+	 */
+	public <A> A mapReduce(Function<ByteBuffer, A> mapper, BinaryOperator<A> combiner) {
+		return chunks().map(mapper).reduce(combiner).orElseGet(() -> mapper.apply(bytes.slice(0, 0)));
+	}
+
+	/**
+	 * @return the index right after the first '\n' at or after the given one, or the end if there is none
+	 */
+	private static int nextLineStart(ByteBuffer bytes, int from, int end) {
+		for (int i = from; i < end; i++) {
+			if (bytes.get(i) == '\n') {
+				return i + 1;
+			}
+		}
+		return end;
+	}
+
+	/**
+	 * @return the index right after the first blank line at or after the given index, or the end if there is none
+	 */
+	private static int nextRecordStart(ByteBuffer bytes, int from, int end) {
+		for (int i = nextLineStart(bytes, from, end); i < end; i = nextLineStart(bytes, i, end)) {
+			if (isBlankLine(bytes, i, end)) {
+				return nextLineStart(bytes, i, end);
+			}
+		}
+		return end;
+	}
+
+	private static boolean isBlankLine(ByteBuffer bytes, int start, int end) {
+		byte first = bytes.get(start);
+		return first == '\n' || (first == '\r' && (start + 1 == end || bytes.get(start + 1) == '\n'));
+	}
+
+	/**
+	 * Walks over the lines or records between two indexes of the input. It splits by picking the middle of what is
+	 * left, and moving on from there to the start of the next line or record, so that the halves don't have to be
+	 * scanned to be split.
+	 */
+	private static class SegmentSpliterator implements Spliterator<String> {
+		private final ByteBuffer bytes;
+		private final boolean records;
+		private final int end;
+		private int position;
+
+		SegmentSpliterator(ByteBuffer bytes, int start, int end, boolean records) {
+			this.bytes = bytes;
+			this.position = start;
+			this.end = end;
+			this.records = records;
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super String> action) {
+			if (records) {
+				while (position < end && isBlankLine(bytes, position, end)) {
+					position = nextLineStart(bytes, position, end);
+				}
+			}
+			if (position >= end) {
+				return false;
+			}
+			int start = position;
+			position = records ? nextRecordStart(bytes, start, end) : nextLineStart(bytes, start, end);
+			action.accept(decode(start, trimLineTerminators(start, position)));
+			return true;
+		}
+
+		@Override
+		public Spliterator<String> trySplit() {
+			int remaining = end - position;
+			if (remaining < MIN_CHUNK_SIZE) {
+				return null;
+			}
+			int middle = position + remaining / 2;
+			middle = records ? nextRecordStart(bytes, middle, end) : nextLineStart(bytes, middle, end);
+			if (middle >= end) {
+				return null;
+			}
+			SegmentSpliterator prefix = new SegmentSpliterator(bytes, position, middle, records);
+			position = middle;
+			return prefix;
+		}
+
+		/**
+		 * @return the number of bytes left, which is not the number of lines, but is proportional to it, which is
+		 * all that the streams need it for
+		 */
+		@Override
+		public long estimateSize() {
+			return end - position;
+		}
+
+		@Override
+		public int characteristics() {
+			return ORDERED | NONNULL | IMMUTABLE;
+		}
+
+		private int trimLineTerminators(int start, int end) {
+			while (end > start && (bytes.get(end - 1) == '\n' || bytes.get(end - 1) == '\r')) {
+				end--;
+			}
+			return end;
+		}
+
+		private String decode(int start, int end) {
+			byte[] segment = new byte[end - start];
+			bytes.get(start, segment);
+			return new String(segment, StandardCharsets.UTF_8);
+		}
+	}
+}
@@ -0,0 +1,60 @@
+package com.pawanhegde.advent.helper;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Makes changes to files in the cache folder safe from other threads as well as from other processes that share the
+ * folder, such as parallel Gradle test forks.
+ * <p>
+ * A file lock is held by the whole JVM, so it can't keep two threads of the same process apart. Each lock file is
+ * therefore guarded by a lock within the process too, which is taken first.
+ */
+class FileLocks {
+	private static final Map<Path, ReentrantLock> LOCKS = new ConcurrentHashMap<>();
+
+	private FileLocks() {
+	}
+
+	/**
+	 * Runs the action while holding the lock file exclusively, waiting for whoever holds it now.
+	 *
+	 * @param lockFile the file to lock, which is created if needed. It should not be a file that gets replaced, since
+	 *                 the lock would go with the old file.
+	 * @param action   what to do while holding the lock
+	 * @return whatever the action returned
+	 */
+	static <T> T withLock(Path lockFile, LockedAction<T> action) throws IOException {
+		ReentrantLock lock = LOCKS.computeIfAbsent(lockFile.toAbsolutePath().normalize(), p -> new ReentrantLock());
+		lock.lock();
+		try {
+			if (lock.getHoldCount() > 1) {
+				// The file is already locked further up the stack
+				return action.run();
+			}
+			Files.createDirectories(lockFile.toAbsolutePath().getParent());
+			try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+				FileLock fileLock = channel.lock();
+				try {
+					return action.run();
+				} finally {
+					fileLock.release();
+				}
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@FunctionalInterface
+	interface LockedAction<T> {
+		T run() throws IOException;
+	}
+}
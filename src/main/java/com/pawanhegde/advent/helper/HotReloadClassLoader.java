@@ -0,0 +1,60 @@
+package com.pawanhegde.advent.helper;
+
+import com.pawanhegde.advent.AocException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Loads the classes in the given directories itself, before asking its parent, so that a new instance of it picks up
+ * the classes as they are on disk right now. Everything else, including this library, comes from the parent.
+ */
+class HotReloadClassLoader extends ClassLoader {
+	static {
+		registerAsParallelCapable();
+	}
+
+	private final List<Path> roots;
+
+	HotReloadClassLoader(List<Path> roots, ClassLoader parent) {
+		super("aoc-hot-reload", parent);
+		this.roots = List.copyOf(roots);
+	}
+
+	@Override
+	protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+		synchronized (getClassLoadingLock(name)) {
+			Class<?> aClass = findLoadedClass(name);
+			if (aClass == null) {
+				Path classFile = findClassFile(name);
+				aClass = classFile != null ? defineClass(name, classFile) : getParent().loadClass(name);
+			}
+			if (resolve) {
+				resolveClass(aClass);
+			}
+			return aClass;
+		}
+	}
+
+	private Path findClassFile(String name) {
+		String fileName = name.replace('.', '/') + ".class";
+		for (Path root : roots) {
+			Path classFile = root.resolve(fileName);
+			if (Files.isRegularFile(classFile)) {
+				return classFile;
+			}
+		}
+		return null;
+	}
+
+	private Class<?> defineClass(String name, Path classFile) {
+		try {
+			byte[] bytes = Files.readAllBytes(classFile);
+			return defineClass(name, bytes, 0, bytes.length);
+		} catch (IOException e) {
+			throw new AocException("Could not read " + classFile, e);
+		}
+	}
+}
@@ -0,0 +1,18 @@
+package com.pawanhegde.advent.helper;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Converts the raw bytes of an input file into the type that a solution method accepts.
+ *
+ * @param <T> the type of the solution method's parameter
+ * @see InputAdapters
+ */
+@FunctionalInterface
+public interface InputAdapter<T> {
+	/**
+	 * @param input a read-only buffer over the input file. The adapter may move its position freely.
+	 * @return the input in the form that the solution expects
+	 */
+	T adapt(ByteBuffer input);
+}
@@ -0,0 +1,234 @@
+package com.pawanhegde.advent.helper;
+
+import com.pawanhegde.advent.AocException;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Picks the {@link InputAdapter} for a solution based on the type of its parameter.
+ * Out of the box, solutions can accept the input as a {@code String}, a {@code List<String>} of lines, a
+ * {@code char[][]} grid, an {@code int[][]} of the numbers on each line, a {@code String[][]} of the whitespace
+ * separated words on each line, as a read-only {@code ByteBuffer}, or as a {@link ChunkedInput} to process very large
+ * inputs in parallel. More types can be added with
+ * {@link #register(Type, InputAdapter)}.
+ * <p>
+ * Solutions can also take whatever the {@link com.pawanhegde.advent.annotation.Parser} of their day returns, in which
+ * case the input is parsed by it, and shared by both parts of the day.
+ * <p>
+ * The adapters work directly on the bytes of the input, so that a grid doesn't have to be read into a String first and
+ * then split up again. Inputs are expected to be ASCII, which Advent of Code inputs always are.
+ */
+public class InputAdapters {
+	private static final Map<String, InputAdapter<?>> ADAPTERS = new ConcurrentHashMap<>();
+
+	static {
+		ADAPTERS.put("java.lang.String", InputAdapters::toText);
+		ADAPTERS.put("java.util.List<java.lang.String>", InputAdapters::toLines);
+		ADAPTERS.put("char[][]", InputAdapters::toCharGrid);
+		ADAPTERS.put("int[][]", InputAdapters::toNumbers);
+		ADAPTERS.put("java.lang.String[][]", InputAdapters::toWords);
+		ADAPTERS.put("java.nio.ByteBuffer", ByteBuffer::asReadOnlyBuffer);
+		ADAPTERS.put(ChunkedInput.class.getName(), ChunkedInput::of);
+	}
+
+	private InputAdapters() {
+	}
+
+	/**
+	 * Adds support for solutions that accept another type of input, or replaces the adapter for a supported one.
+	 *
+	 * @param type    the type of the solution method's parameter, including its type arguments, if any
+	 * @param adapter converts the input into that type
+	 */
+	public static void register(Type type, InputAdapter<?> adapter) {
+		ADAPTERS.put(type.getTypeName(), adapter);
+	}
+
+	/**
+	 * @return true if there is an adapter for the type of the method's only parameter, or a parser that returns it
+	 */
+	public static boolean supports(Method method) {
+		Type[] parameterTypes = method.getGenericParameterTypes();
+		return parameterTypes.length == 1 && (ADAPTERS.containsKey(parameterTypes[0].getTypeName())
+				|| ParsedInputs.parserFor(method).isPresent());
+	}
+
+	/**
+	 * @return true if there is an adapter for the type
+	 */
+	static boolean hasAdapter(Type type) {
+		return ADAPTERS.containsKey(type.getTypeName());
+	}
+
+	/**
+	 * @return the names of the types that solutions may accept
+	 */
+	public static List<String> supportedTypes() {
+		return ADAPTERS.keySet().stream().sorted().toList();
+	}
+
+	/**
+	 * Converts the input into the type that the solution method accepts.
+	 *
+	 * @param method the solution method
+	 * @param input  the bytes of the input file
+	 * @return the input, ready to be passed to the method
+	 */
+	public static Object adapt(Method method, ByteBuffer input) {
+		checkSupported(method);
+		Optional<Method> parser = ParsedInputs.parserFor(method);
+		if (parser.isPresent()) {
+			return SolutionInvoker.invoke(parser.get(), adapt(parser.get(), input));
+		}
+		InputAdapter<?> adapter = ADAPTERS.get(method.getGenericParameterTypes()[0].getTypeName());
+		return adapter.adapt(input.duplicate());
+	}
+
+	/**
+	 * Same as {@link #adapt(Method, ByteBuffer)}, but if the input goes through the parser of the day, it is parsed
+	 * only once, and the result is shared with the other part.
+	 *
+	 * @param method the solution method
+	 * @param input  the input file
+	 * @return the input, ready to be passed to the method
+	 */
+	public static Object adapt(Method method, StoredInput input) {
+		checkSupported(method);
+		Optional<Method> parser = ParsedInputs.parserFor(method);
+		if (parser.isPresent()) {
+			return ParsedInputs.parse(parser.get(), input);
+		}
+		return adapt(method, input.bytes());
+	}
+
+	private static void checkSupported(Method method) {
+		if (!supports(method)) {
+			throw new AocException(method.getDeclaringClass().getName() + "#" + method.getName() + " should accept " +
+					"exactly one of the following as the input: " + String.join(", ", supportedTypes()) +
+					", or whatever the @Parser of its day returns");
+		}
+	}
+
+	private static String toText(ByteBuffer input) {
+		return StandardCharsets.UTF_8.decode(input).toString();
+	}
+
+	private static List<String> toLines(ByteBuffer input) {
+		List<String> lines = new ArrayList<>();
+		forEachLine(input, (start, end) -> {
+			byte[] line = new byte[end - start];
+			input.get(start, line);
+			lines.add(new String(line, StandardCharsets.UTF_8));
+		});
+		return lines;
+	}
+
+	private static char[][] toCharGrid(ByteBuffer input) {
+		List<char[]> rows = new ArrayList<>();
+		forEachLine(input, (start, end) -> {
+			char[] row = new char[end - start];
+			for (int i = start; i < end; i++) {
+				row[i - start] = (char) (input.get(i) & 0xFF);
+			}
+			rows.add(row);
+		});
+		return rows.toArray(new char[0][]);
+	}
+
+	/**
+	 * Extracts all the integers on each line, skipping anything in between them. A '-' right before a number makes
+	 * it negative, unless it comes right after a letter or a digit, so that ranges such as {@code 2-4} are read as
+	 * two positive numbers. Blank lines become empty rows, so that groups separated by blank lines can still be told
+	 * apart. For grids of single digits, accept a char[][] instead.
+	 *
+	 * @throws AocException if a number does not fit in an int
+	 */
+	private static int[][] toNumbers(ByteBuffer input) {
+		List<int[]> rows = new ArrayList<>();
+		int[][] scratch = {new int[16]};
+		forEachLine(input, (start, end) -> {
+			int count = 0;
+			int i = start;
+			while (i < end) {
+				byte b = input.get(i);
+				if (!isDigit(b)) {
+					i++;
+					continue;
+				}
+				boolean negative = i > start && input.get(i - 1) == '-'
+						&& (i - 1 == start || !isLetterOrDigit(input.get(i - 2)));
+				int value = 0;
+				while (i < end && isDigit(input.get(i))) {
+					int digit = input.get(i) - '0';
+					try {
+						// Built up with the sign it ends up with, so that Integer.MIN_VALUE still fits
+						value = Math.addExact(Math.multiplyExact(value, 10), negative ? -digit : digit);
+					} catch (ArithmeticException e) {
+						// Every line before this one has added a row, blank or not
+						throw new AocException("Line " + (rows.size() + 1) + " of the input has a number that " +
+								"does not fit in an int: " + toText(input.duplicate().position(start).limit(end)) +
+								". Accept the input as a List<String> or a String[][] instead, and parse it as a long.",
+								e);
+					}
+					i++;
+				}
+				if (count == scratch[0].length) {
+					scratch[0] = Arrays.copyOf(scratch[0], count * 2);
+				}
+				scratch[0][count++] = value;
+			}
+			rows.add(Arrays.copyOf(scratch[0], count));
+		});
+		return rows.toArray(new int[0][]);
+	}
+
+	private static String[][] toWords(ByteBuffer input) {
+		return toLines(input).stream()
+				.map(line -> line.isBlank() ? new String[0] : line.strip().split("\\s+"))
+				.toArray(String[][]::new);
+	}
+
+	private static boolean isDigit(byte b) {
+		return b >= '0' && b <= '9';
+	}
+
+	private static boolean isLetterOrDigit(byte b) {
+		return isDigit(b) || (b >= 'a' && b <= 'z') || (b >= 'A' && b <= 'Z');
+	}
+
+	/**
+	 * Calls the consumer with the bounds of every line in the input, excluding the line terminators. The empty "line"
+	 * after the final newline is not included.
+	 */
+	private static void forEachLine(ByteBuffer input, LineConsumer consumer) {
+		int start = input.position();
+		int limit = input.limit();
+		for (int i = start; i < limit; i++) {
+			if (input.get(i) == '\n') {
+				consumer.accept(start, trimCarriageReturn(input, start, i));
+				start = i + 1;
+			}
+		}
+		if (start < limit) {
+			consumer.accept(start, trimCarriageReturn(input, start, limit));
+		}
+	}
+
+	private static int trimCarriageReturn(ByteBuffer input, int start, int end) {
+		return end > start && input.get(end - 1) == '\r' ? end - 1 : end;
+	}
+
+	@FunctionalInterface
+	private interface LineConsumer {
+		void accept(int start, int end);
+	}
+}
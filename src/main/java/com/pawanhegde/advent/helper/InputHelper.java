@@ -1,76 +1,253 @@
 package com.pawanhegde.advent.helper;
 
 import com.pawanhegde.advent.AocException;
+import com.pawanhegde.advent.model.Phase;
 import com.pawanhegde.advent.model.ProblemId;
 
 import java.io.IOException;
-import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Month;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import static com.pawanhegde.advent.util.Log.error;
 import static com.pawanhegde.advent.util.Log.info;
 
 public class InputHelper {
 	private static final String INPUT_FILE = "input.txt";
 	private static final String SAMPLE_FILE = "sample.txt";
 	private static final Path TEST_RESOURCES_FOLDER = Path.of("src/test/resources/");
+	private static final Map<Path, Object> DOWNLOAD_LOCKS = new ConcurrentHashMap<>();
+	private static final int PREFETCH_THREADS = 4;
+	private static final int LAST_DAY = 25;
+	// Puzzles unlock at midnight EST, all year round
+	private static final ZoneOffset RELEASE_ZONE = ZoneOffset.ofHours(-5);
+
 	private InputHelper() {
 	}
 
 	public static Optional<String> getSample(ProblemId problemId) {
 		Optional<String> sample = fetchFromLocal(SAMPLE_FILE, problemId);
 		if (sample.isEmpty()) {
-			info("If you want to run the solutions on the sample input, add a file called " + SAMPLE_FILE
-					+ " in src/test/resources/" + problemId.day() + "/" + SAMPLE_FILE);
+			suggestAddingASample(problemId);
+		}
+		return sample;
+	}
+
+	/**
+	 * Same as {@link #getSample(ProblemId)}, but maps the file into memory instead of reading it into a String.
+	 *
+	 * @return a read-only buffer over the sample, if there is one
+	 */
+	public static Optional<ByteBuffer> getSampleBytes(ProblemId problemId) {
+		return getStoredSample(problemId).map(StoredInput::bytes);
+	}
+
+	/**
+	 * Same as {@link #getSampleBytes(ProblemId)}, but also gives access to the hash of the sample.
+	 */
+	public static Optional<StoredInput> getStoredSample(ProblemId problemId) {
+		Optional<StoredInput> sample = fetchStoredInput(SAMPLE_FILE, problemId);
+		if (sample.isEmpty()) {
+			suggestAddingASample(problemId);
 		}
 		return sample;
 	}
 
 	public static String getInput(ProblemId problemId) {
+		ensureInputIsAvailable(problemId, true);
+		return fetchFromLocal(INPUT_FILE, problemId).orElseThrow();
+	}
+
+	/**
+	 * Same as {@link #getInput(ProblemId)}, but maps the file into memory instead of reading it into a String.
+	 *
+	 * @return a read-only buffer over the input
+	 */
+	public static ByteBuffer getInputBytes(ProblemId problemId) {
+		return getStoredInput(problemId).bytes();
+	}
+
+	/**
+	 * Same as {@link #getInputBytes(ProblemId)}, but splits the input up into chunks that can be processed in
+	 * parallel, for inputs that are too large to be read in one go.
+	 */
+	public static ChunkedInput getChunkedInput(ProblemId problemId) {
+		return ChunkedInput.of(getInputBytes(problemId));
+	}
+
+	/**
+	 * Same as {@link #getInputBytes(ProblemId)}, but also gives access to the hash of the input.
+	 */
+	public static StoredInput getStoredInput(ProblemId problemId) {
+		ensureInputIsAvailable(problemId, true);
+		return fetchStoredInput(INPUT_FILE, problemId)
+				.orElseThrow(() -> new AocException("Could not read the input for " + problemId));
+	}
+
+	/**
+	 * Downloads the inputs of all the days of a year that have been released, but are not available locally yet.
+	 *
+	 * @param year the year to download the inputs for
+	 */
+	public static void prefetch(int year) {
+		prefetchAll(year);
+	}
+
+	/**
+	 * Downloads the inputs of all the days of the given years that have been released, but are not available locally
+	 * yet. The inputs are downloaded concurrently, although {@link AocClient} still spaces out the requests.
+	 * Downloads that fail are reported and skipped, so that the rest can still go ahead.
+	 *
+	 * @param years the years to download the inputs for
+	 */
+	public static void prefetchAll(int... years) {
+		List<ProblemId> missing = new ArrayList<>();
+		for (int year : years) {
+			for (int day = 1; day <= lastReleasedDay(year); day++) {
+				ProblemId problemId = new ProblemId(year, day, 1);
+				if (!Files.exists(pathTo(problemId, INPUT_FILE))) {
+					missing.add(problemId);
+				}
+			}
+		}
+		if (missing.isEmpty()) {
+			info("All the inputs are already available");
+			return;
+		}
+
+		info("Downloading " + missing.size() + " inputs...");
+		AtomicInteger done = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(Math.min(PREFETCH_THREADS, missing.size()));
+		try {
+			List<Future<?>> downloads = missing.stream().<Future<?>>map(problemId -> executor.submit(() -> {
+				try {
+					ensureInputIsAvailable(problemId, false);
+					info("Downloaded the input for " + problemId.year() + " day " + problemId.day() + " (" +
+							done.incrementAndGet() + "/" + missing.size() + ")");
+				} catch (AocException e) {
+					error(e.getMessage() + " (" + done.incrementAndGet() + "/" + missing.size() + ")");
+				}
+			})).toList();
+			for (Future<?> download : downloads) {
+				download.get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new AocException("Interrupted while downloading the inputs", e);
+		} catch (ExecutionException e) {
+			throw new AocException("Could not download the inputs", e.getCause());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	static int lastReleasedDay(int year) {
+		ZonedDateTime now = ZonedDateTime.now(RELEASE_ZONE);
+		if (year < now.getYear()) {
+			return LAST_DAY;
+		}
+		if (year > now.getYear() || now.getMonth() != Month.DECEMBER) {
+			return 0;
+		}
+		return Math.min(now.getDayOfMonth(), LAST_DAY);
+	}
+
+	private static void suggestAddingASample(ProblemId problemId) {
+		info("If you want to run the solutions on the sample input, add a file called " + SAMPLE_FILE
+				+ " in " + TEST_RESOURCES_FOLDER.resolve(problemId.year() + "/" + problemId.day()));
+	}
+
+	/**
+	 * @param measure whether to add the time taken by a download to the {@link RunReport}, which only makes sense for
+	 *                the problems that this run attempts
+	 */
+	private static void ensureInputIsAvailable(ProblemId problemId, boolean measure) {
 		Path pathToInputFile = pathTo(problemId, INPUT_FILE);
 		if (!Files.exists(pathToInputFile)) {
-			try {
-				downloadInput(problemId);
-			} catch (IOException | InterruptedException e) {
-				throw new AocException("Could not download input for " + problemId + ". " +
-						"You can either retry, or add a file called " + INPUT_FILE, e);
+			// Both parts of a day share the input, so it must only be downloaded once when they run in parallel
+			synchronized (DOWNLOAD_LOCKS.computeIfAbsent(pathToInputFile, p -> new Object())) {
+				if (Files.exists(pathToInputFile)) {
+					return;
+				}
+				if (measure) {
+					Instrumentation.measure(problemId, Phase.NETWORK, () -> tryToDownloadInput(problemId));
+				} else {
+					tryToDownloadInput(problemId);
+				}
 			}
 		}
+	}
 
-		return fetchFromLocal(INPUT_FILE, problemId).orElseThrow();
+	private static void tryToDownloadInput(ProblemId problemId) {
+		try {
+			downloadInput(problemId);
+		} catch (AocException e) {
+			throw new AocException("Could not download input for " + problemId + ". " +
+					"You can either retry, or add a file called " + INPUT_FILE, e);
+		}
 	}
 
+	/**
+	 * @return the folder with the inputs and samples of all the problems
+	 */
+	static Path getInputsFolder() {
+		return TEST_RESOURCES_FOLDER;
+	}
+
+	/**
+	 * @return where the file for the problem is stored, which is src/test/resources/YYYY/D/fileName
+	 */
 	private static Path pathTo(ProblemId problemId, String fileName) {
-		return TEST_RESOURCES_FOLDER.resolve(String.valueOf(problemId.day())).resolve(fileName);
+		return TEST_RESOURCES_FOLDER.resolve(String.valueOf(problemId.year()))
+				.resolve(String.valueOf(problemId.day()))
+				.resolve(fileName);
+	}
+
+	/**
+	 * Samples used to be stored without the year, as src/test/resources/D/sample.txt. Since they are written by hand,
+	 * they are still picked up from there if there is no sample where it is stored now. Inputs are not, because there
+	 * is no telling which year they belong to, and they can simply be downloaded again.
+	 */
+	private static Path locateSample(ProblemId problemId) {
+		Path path = pathTo(problemId, SAMPLE_FILE);
+		Path legacyPath = TEST_RESOURCES_FOLDER.resolve(String.valueOf(problemId.day())).resolve(SAMPLE_FILE);
+		if (Files.notExists(path) && Files.exists(legacyPath)) {
+			return legacyPath;
+		}
+		return path;
 	}
 
-	private static void downloadInput(ProblemId problemId) throws IOException, InterruptedException {
+	private static void downloadInput(ProblemId problemId) {
 		String input = fetchFromServer(problemId);
 		storeInputLocally(input, problemId);
 	}
 
 	private static Optional<String> fetchFromLocal(String fileName, ProblemId problemId) {
-		Path pathToSample = pathTo(problemId, fileName);
-		try {
-			return Optional.of(Files.readString(pathToSample));
-		} catch (IOException e) {
-			return Optional.empty();
-		}
+		return fetchStoredInput(fileName, problemId).map(StoredInput::text);
 	}
 
-	private static String fetchFromServer(ProblemId problemId)
-			throws IOException, InterruptedException {
-		String url = "https://adventofcode.com/" + problemId.year() + "/day/" + problemId.day() + "/input";
-		String token = TokenHelper.fetchToken();
-
-		HttpRequest request =
-				HttpRequest.newBuilder().uri(URI.create(url)).setHeader("Cookie", "session=" + token).GET().build();
+	private static Optional<StoredInput> fetchStoredInput(String fileName, ProblemId problemId) {
+		return InputStore.get(SAMPLE_FILE.equals(fileName) ? locateSample(problemId) : pathTo(problemId, fileName));
+	}
 
-		HttpResponse<String> response = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofString());
+	private static String fetchFromServer(ProblemId problemId) {
+		String path = problemId.year() + "/day/" + problemId.day() + "/input";
+		HttpResponse<String> response = AocClient.shared().get(path);
 		if (response.statusCode() != 200) {
 			throw new AocException("Could not fetch input from server.");
 		}
@@ -80,7 +257,17 @@ public class InputHelper {
 	private static void storeInputLocally(String input, ProblemId problemId) {
 		Path pathToInput = pathTo(problemId, INPUT_FILE);
 		try {
-			Files.writeString(pathToInput, input);
+			// Write to a temporary file first, so that an interrupted download never leaves half an input behind
+			Files.createDirectories(pathToInput.getParent());
+			Path temporaryFile = Files.createTempFile(pathToInput.getParent(), INPUT_FILE, ".part");
+			try {
+				Files.writeString(temporaryFile, input);
+				Files.move(temporaryFile, pathToInput, StandardCopyOption.ATOMIC_MOVE,
+						StandardCopyOption.REPLACE_EXISTING);
+			} finally {
+				// Only still there if the move failed, in which case it must not be left among the inputs
+				Files.deleteIfExists(temporaryFile);
+			}
 		} catch (IOException e) {
 			throw new AocException("Failed to store the input for " + problemId, e);
 		}
@@ -0,0 +1,108 @@
+package com.pawanhegde.advent.helper;
+
+import com.pawanhegde.advent.AocException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps recently used input files in memory, so that running the sample and the actual input, both parts of a day,
+ * or a benchmark, doesn't read and decode the same bytes over and over.
+ * <p>
+ * Files are looked up by path, and are read again only if their size or modification time changes. Their contents are
+ * kept by their hash, so identical files share the same bytes. Small files are read onto the heap, while large ones
+ * are memory-mapped, so that they don't count towards the heap at all.
+ */
+public class InputStore {
+	private static final int MAPPING_THRESHOLD = 1 << 20;
+	private static final int MAX_ENTRIES = 32;
+
+	private static final Map<Path, FileVersion> VERSIONS = new ConcurrentHashMap<>();
+	private static final Map<String, StoredInput> CONTENTS = new LinkedHashMap<>(16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, StoredInput> eldest) {
+			return size() > MAX_ENTRIES;
+		}
+	};
+
+	private InputStore() {
+	}
+
+	/**
+	 * @param path the file to read
+	 * @return the contents of the file, or empty if it does not exist
+	 */
+	public static Optional<StoredInput> get(Path path) {
+		BasicFileAttributes attributes;
+		try {
+			attributes = Files.readAttributes(path, BasicFileAttributes.class);
+		} catch (IOException e) {
+			return Optional.empty();
+		}
+
+		FileVersion version = VERSIONS.get(path);
+		if (version != null && version.matches(attributes)) {
+			StoredInput input;
+			synchronized (CONTENTS) {
+				input = CONTENTS.get(version.hash());
+			}
+			if (input != null) {
+				return Optional.of(input);
+			}
+		}
+		return Optional.of(load(path, attributes));
+	}
+
+	private static StoredInput load(Path path, BasicFileAttributes attributes) {
+		ByteBuffer bytes = read(path, attributes.size());
+		String hash = hash(bytes);
+		VERSIONS.put(path, new FileVersion(attributes.size(), attributes.lastModifiedTime(), hash));
+		synchronized (CONTENTS) {
+			return CONTENTS.computeIfAbsent(hash, h -> new StoredInput(bytes, h));
+		}
+	}
+
+	private static ByteBuffer read(Path path, long size) {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			if (size >= MAPPING_THRESHOLD) {
+				return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			}
+			ByteBuffer bytes = ByteBuffer.allocate((int) size);
+			while (bytes.hasRemaining() && channel.read(bytes) >= 0) {
+				// Keep reading until the buffer is full or the file ends
+			}
+			return bytes.flip();
+		} catch (IOException e) {
+			throw new AocException("Could not read " + path, e);
+		}
+	}
+
+	private static String hash(ByteBuffer bytes) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			digest.update(bytes.duplicate());
+			return HexFormat.of().formatHex(digest.digest());
+		} catch (NoSuchAlgorithmException e) {
+			throw new AocException("SHA-256 is not available", e);
+		}
+	}
+
+	private record FileVersion(long size, FileTime lastModified, String hash) {
+		boolean matches(BasicFileAttributes attributes) {
+			return size == attributes.size() && lastModified.equals(attributes.lastModifiedTime());
+		}
+	}
+}
@@ -0,0 +1,69 @@
+package com.pawanhegde.advent.helper;
+
+import com.pawanhegde.advent.model.Measurement;
+import com.pawanhegde.advent.model.Phase;
+import com.pawanhegde.advent.model.ProblemId;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.Supplier;
+
+/**
+ * Measures the wall time, CPU time and heap allocations of the phases of an attempt, and adds them to the
+ * {@link RunReport}. Phases can be nested, in which case the inner phase is counted in the outer one as well.
+ */
+public class Instrumentation {
+	private static final com.sun.management.ThreadMXBean THREADS =
+			(com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+	private Instrumentation() {
+	}
+
+	public static <T> T measure(ProblemId problemId, Phase phase, Supplier<T> action) {
+		return timed(problemId, phase, action).value();
+	}
+
+	public static void measure(ProblemId problemId, Phase phase, Runnable action) {
+		measure(problemId, phase, () -> {
+			action.run();
+			return null;
+		});
+	}
+
+	/**
+	 * Same as {@link #measure(ProblemId, Phase, Supplier)}, but also returns the measurement.
+	 */
+	public static <T> Timed<T> timed(ProblemId problemId, Phase phase, Supplier<T> action) {
+		long wallStart = System.nanoTime();
+		long cpuStart = THREADS.getCurrentThreadCpuTime();
+		long allocatedStart = THREADS.getCurrentThreadAllocatedBytes();
+		Measurement measurement = null;
+		try {
+			T value = action.get();
+			measurement = measureSince(wallStart, cpuStart, allocatedStart);
+			return new Timed<>(value, measurement);
+		} finally {
+			if (measurement == null) {
+				measurement = measureSince(wallStart, cpuStart, allocatedStart);
+			}
+			RunReport.record(problemId, phase, measurement);
+		}
+	}
+
+	/**
+	 * @return the number of bytes that the thread has allocated on the heap since it started, or -1 if it is not alive
+	 */
+	static long allocatedBytes(Thread thread) {
+		return THREADS.getThreadAllocatedBytes(thread.getId());
+	}
+
+	private static Measurement measureSince(long wallStart, long cpuStart, long allocatedStart) {
+		return new Measurement(System.nanoTime() - wallStart, THREADS.getCurrentThreadCpuTime() - cpuStart,
+				THREADS.getCurrentThreadAllocatedBytes() - allocatedStart);
+	}
+
+	/**
+	 * The result of something that was measured, along with the measurement.
+	 */
+	public record Timed<T>(T value, Measurement measurement) {
+	}
+}
@@ -0,0 +1,59 @@
+package com.pawanhegde.advent.helper;
+
+import com.pawanhegde.advent.AocException;
+import com.pawanhegde.advent.helper.Instrumentation.Timed;
+import com.pawanhegde.advent.model.Measurement;
+import com.pawanhegde.advent.model.Phase;
+import com.pawanhegde.advent.model.ProblemId;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static com.pawanhegde.advent.helper.Instrumentation.timed;
+
+/**
+ * The entry-point of the JVMs that the {@link Supervisor} isolates solutions in. It runs a single solution on a
+ * single input, and writes the measurement of the run and the answer to a file. It is not meant to be run by hand.
+ * <p>
+ * Usage: {@code IsolatedRun className year day part phase resultFile}
+ */
+public class IsolatedRun {
+	private IsolatedRun() {
+	}
+
+	public static void main(String[] args) throws ClassNotFoundException, IOException {
+		Class<?> aClass = Class.forName(args[0]);
+		ProblemId problemId = new ProblemId(Integer.parseInt(args[1]), Integer.parseInt(args[2]),
+				Integer.parseInt(args[3]));
+		Phase phase = Phase.valueOf(args[4]);
+		Path resultFile = Path.of(args[5]);
+
+		Method method = SolutionSupplier.getAocSolutions(aClass).get(problemId);
+		if (method == null) {
+			throw new AocException("Could not find the solution for " + problemId + " in " + aClass.getName());
+		}
+		StoredInput input = phase == Phase.SAMPLE_RUN
+				? InputHelper.getStoredSample(problemId).orElseThrow(() -> new AocException("No sample for " + problemId))
+				: InputHelper.getStoredInput(problemId);
+
+		Timed<String> result = timed(problemId, phase, () -> String.valueOf(
+				SolutionInvoker.invoke(method, InputAdapters.adapt(method, input))));
+		Files.writeString(resultFile, writeResult(result), StandardCharsets.UTF_8);
+	}
+
+	private static String writeResult(Timed<String> result) {
+		Measurement measurement = result.measurement();
+		return measurement.wallNanos() + " " + measurement.cpuNanos() + " " + measurement.allocatedBytes() + "\n"
+				+ result.value();
+	}
+
+	static Timed<String> readResult(String result) {
+		int newline = result.indexOf('\n');
+		String[] measurement = result.substring(0, newline).split(" ");
+		return new Timed<>(result.substring(newline + 1), new Measurement(Long.parseLong(measurement[0]),
+				Long.parseLong(measurement[1]), Long.parseLong(measurement[2])));
+	}
+}
@@ -0,0 +1,103 @@
+package com.pawanhegde.advent.helper;
+
+import com.pawanhegde.advent.Settings;
+import com.pawanhegde.advent.model.Attempt;
+import com.pawanhegde.advent.model.ProblemId;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeoutException;
+
+import static com.pawanhegde.advent.util.Log.error;
+import static com.pawanhegde.advent.util.Log.info;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Runs several solutions at the same time, while still printing and submitting the results one after another in the
+ * order in which the solutions were given.
+ */
+public class ParallelExecutor {
+	private ParallelExecutor() {
+	}
+
+	/**
+	 * Attempts all the given solutions.
+	 *
+	 * @param solutions   the solutions, in the order in which their results should be reported
+	 * @param parallelism the maximum number of solutions to run at the same time
+	 * @param timeout     how long a single solution may run, counted from the moment it starts
+	 */
+	public static void attemptAll(Map<ProblemId, Method> solutions, int parallelism, Duration timeout) {
+		attemptAll(solutions, parallelism, timeout, Settings.rerun());
+	}
+
+	/**
+	 * Same as {@link #attemptAll(Map, int, Duration)}, but decides for itself whether to ignore the answers of earlier
+	 * runs.
+	 */
+	static void attemptAll(Map<ProblemId, Method> solutions, int parallelism, Duration timeout, boolean rerun) {
+		// The permits are handed out fairly so that the solutions start roughly in the order they were given in
+		Semaphore slots = new Semaphore(parallelism, true);
+		Map<ProblemId, CompletableFuture<Attempt>> attempts = new LinkedHashMap<>();
+		solutions.forEach((problemId, method) -> {
+			if (!SubmissionHelper.isAutoSubmit(method) || !CacheManager.isSubmittedSuccessfully(problemId)) {
+				attempts.put(problemId, solveAsync(problemId, method, slots, timeout, rerun));
+			}
+		});
+
+		solutions.forEach((problemId, method) -> {
+			CompletableFuture<Attempt> attempt = attempts.get(problemId);
+			if (attempt == null) {
+				info(problemId + " has already been submitted. Skipping...");
+			} else {
+				report(problemId, method, attempt, timeout);
+			}
+		});
+	}
+
+	private static CompletableFuture<Attempt> solveAsync(ProblemId problemId, Method method, Semaphore slots,
+														 Duration timeout, boolean rerun) {
+		CompletableFuture<Attempt> attempt = new CompletableFuture<>();
+		Thread worker = new Thread(() -> {
+			slots.acquireUninterruptibly();
+			Thread current = Thread.currentThread();
+			// Whichever comes first, the answer or the timeout, frees up the slot for the next solution. A solution
+			// that has timed out is interrupted, but it might not check for that, so its thread dies with the JVM.
+			attempt.whenComplete((result, e) -> {
+				slots.release();
+				if (e instanceof TimeoutException) {
+					current.interrupt();
+				}
+			});
+			attempt.orTimeout(timeout.toMillis(), MILLISECONDS);
+
+			try {
+				attempt.complete(SubmissionHelper.solve(problemId, method, rerun, timeout));
+			} catch (Throwable e) {
+				// Anything left uncaught would only be reported once the timeout is up, and as a timeout
+				attempt.completeExceptionally(e);
+			}
+		}, "aoc-" + problemId.year() + "-" + problemId.day() + "-" + problemId.part());
+		worker.setDaemon(true);
+		worker.start();
+		return attempt;
+	}
+
+	private static void report(ProblemId problemId, Method method, CompletableFuture<Attempt> attempt,
+							   Duration timeout) {
+		try {
+			SubmissionHelper.report(attempt.join(), method);
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof TimeoutException) {
+				error(problemId + " did not finish within " + timeout + ". Skipping...");
+			} else {
+				error(problemId + " failed: " + e.getCause());
+			}
+		}
+	}
+}
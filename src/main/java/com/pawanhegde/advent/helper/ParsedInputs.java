@@ -0,0 +1,136 @@
+package com.pawanhegde.advent.helper;
+
+import com.pawanhegde.advent.AocException;
+import com.pawanhegde.advent.annotation.AdventOfCode;
+import com.pawanhegde.advent.annotation.Parser;
+import com.pawanhegde.advent.model.ProblemId;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Runs the {@link Parser}s of the days, and keeps what they return for the parts of the day to share.
+ * <p>
+ * The parsed inputs are kept by parser and input hash. The first part to need one parses the input, while the other
+ * waits for it instead of parsing the same input again, so the time it takes counts towards the first part only.
+ * Solutions that run in a JVM of their own can't share anything, so each of them parses the input. Parsed models can
+ * be large, so only the most recently used ones are kept.
+ */
+class ParsedInputs {
+	private static final int MAX_ENTRIES = 8;
+
+	private static final Map<Method, Optional<Method>> PARSERS = new ConcurrentHashMap<>();
+	private static final Map<ParseKey, CompletableFuture<Object>> PARSED = new LinkedHashMap<>(16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<ParseKey, CompletableFuture<Object>> eldest) {
+			return size() > MAX_ENTRIES;
+		}
+	};
+
+	private ParsedInputs() {
+	}
+
+	/**
+	 * @return the parser whose result the solution takes, if there is one. A solution that takes a type that there is
+	 * an {@link InputAdapter} for gets its input from the adapter, even if a parser of its day returns the same type.
+	 */
+	static Optional<Method> parserFor(Method solution) {
+		Type[] parameterTypes = solution.getGenericParameterTypes();
+		if (parameterTypes.length == 1 && InputAdapters.hasAdapter(parameterTypes[0])) {
+			return Optional.empty();
+		}
+		return PARSERS.computeIfAbsent(solution, ParsedInputs::findParser);
+	}
+
+	/**
+	 * Parses the input, unless it has been parsed already, or is being parsed by another thread, in which case that
+	 * result is used.
+	 *
+	 * @return what the parser returned for the input
+	 */
+	static Object parse(Method parser, StoredInput input) {
+		ParseKey key = new ParseKey(parser, input.hash());
+		CompletableFuture<Object> parsed;
+		boolean parsedHere = false;
+		synchronized (PARSED) {
+			parsed = PARSED.get(key);
+			if (parsed == null) {
+				parsed = new CompletableFuture<>();
+				PARSED.put(key, parsed);
+				parsedHere = true;
+			}
+		}
+
+		if (parsedHere) {
+			try {
+				parsed.complete(SolutionInvoker.invoke(parser, InputAdapters.adapt(parser, input.bytes())));
+			} catch (RuntimeException | Error e) {
+				// The next run gets to try again, rather than failing on the same result
+				synchronized (PARSED) {
+					PARSED.remove(key, parsed);
+				}
+				parsed.completeExceptionally(e);
+				throw e;
+			}
+		}
+
+		try {
+			return parsed.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new AocException("Interrupted while waiting for " + getFullMethodName(parser), e);
+		} catch (ExecutionException e) {
+			throw e.getCause() instanceof AocException aocException ? aocException
+					: new AocException(getFullMethodName(parser) + " failed on the given input", e.getCause());
+		}
+	}
+
+	/**
+	 * Drops the parsers and parsed inputs of the classes loaded by the class loader, so that the loader can be
+	 * unloaded.
+	 */
+	static void forget(ClassLoader classLoader) {
+		PARSERS.keySet().removeIf(method -> method.getDeclaringClass().getClassLoader() == classLoader);
+		synchronized (PARSED) {
+			PARSED.keySet().removeIf(key -> key.parser().getDeclaringClass().getClassLoader() == classLoader);
+		}
+	}
+
+	private static Optional<Method> findParser(Method solution) {
+		Optional<ProblemId> problemId = Optional.ofNullable(solution.getAnnotation(AdventOfCode.class))
+				.map(aoc -> new ProblemId(aoc.year(), aoc.day(), aoc.part()))
+				.or(() -> ProblemId.fromMethodName(solution.getName()));
+		if (problemId.isEmpty() || solution.getParameterCount() != 1) {
+			return Optional.empty();
+		}
+
+		Map<String, Method> parsers = new HashMap<>();
+		for (Method method : solution.getDeclaringClass().getMethods()) {
+			Parser parser = method.getAnnotation(Parser.class);
+			// The type arguments have to match as well, or a List<Edge> could end up in a List<String>
+			if (parser != null && parser.year() == problemId.get().year() && parser.day() == problemId.get().day()
+					&& method.getGenericReturnType().equals(solution.getGenericParameterTypes()[0])) {
+				parsers.put(getFullMethodName(method), method);
+			}
+		}
+		if (parsers.size() > 1) {
+			throw new AocException("Multiple parsers found for " + getFullMethodName(solution) + ": " +
+					String.join(", ", parsers.keySet()) + ". Please only keep one of them.");
+		}
+		return parsers.values().stream().findFirst();
+	}
+
+	private static String getFullMethodName(Method method) {
+		return method.getDeclaringClass().getName() + "#" + method.getName();
+	}
+
+	private record ParseKey(Method parser, String inputHash) {
+	}
+}
@@ -0,0 +1,85 @@
+package com.pawanhegde.advent.helper;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pawanhegde.advent.AocException;
+import com.pawanhegde.advent.Settings;
+import com.pawanhegde.advent.model.ProblemId;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Reads the correct answers off the page of a day. What was read is remembered along with the page's ETag and
+ * Last-Modified headers, so that a page that hasn't changed since is neither sent again by the server nor read again.
+ */
+class ProblemPages {
+	private static final Path PAGES_FOLDER = Settings.cacheFolder().resolve("pages");
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+
+	private ProblemPages() {
+	}
+
+	/**
+	 * @return the answers of the parts of the day that have been solved
+	 */
+	static List<String> getCorrectAnswers(ProblemId problemId) {
+		Path file = PAGES_FOLDER.resolve(problemId.year() + "-" + problemId.day() + ".json");
+		Optional<Page> cached = read(file);
+		Map<String, String> headers = new HashMap<>();
+		cached.map(Page::etag).ifPresent(etag -> headers.put("If-None-Match", etag));
+		cached.map(Page::lastModified).ifPresent(lastModified -> headers.put("If-Modified-Since", lastModified));
+
+		String path = problemId.year() + "/day/" + problemId.day();
+		HttpResponse<InputStream> response = AocClient.shared().getStream(path, headers);
+		try (InputStream body = response.body()) {
+			if (response.statusCode() == HttpURLConnection.HTTP_NOT_MODIFIED && cached.isPresent()) {
+				return cached.get().correctAnswers();
+			}
+			if (response.statusCode() != HttpURLConnection.HTTP_OK) {
+				// An error page has no answers on it, which would look like a day that nothing was solved of
+				throw new AocException("Could not fetch the page of " + path + ": HTTP " + response.statusCode());
+			}
+
+			List<String> correctAnswers = ResponseParser.readCorrectAnswers(body);
+			Page page = new Page(response.headers().firstValue("ETag").orElse(null),
+					response.headers().firstValue("Last-Modified").orElse(null), correctAnswers);
+			if (page.etag() != null || page.lastModified() != null) {
+				write(file, page);
+			}
+			return correctAnswers;
+		} catch (IOException e) {
+			throw new AocException("Could not read the page of " + path, e);
+		}
+	}
+
+	private static Optional<Page> read(Path file) {
+		if (Files.notExists(file)) {
+			return Optional.empty();
+		}
+		try {
+			return Optional.of(MAPPER.readValue(file.toFile(), Page.class));
+		} catch (IOException e) {
+			// The page is simply fetched in full again
+			return Optional.empty();
+		}
+	}
+
+	private static void write(Path file, Page page) throws IOException {
+		Files.createDirectories(PAGES_FOLDER);
+		Path temporaryFile = Files.createTempFile(PAGES_FOLDER, file.getFileName().toString(), ".part");
+		MAPPER.writeValue(temporaryFile.toFile(), page);
+		Files.move(temporaryFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	private record Page(String etag, String lastModified, List<String> correctAnswers) {
+	}
+}
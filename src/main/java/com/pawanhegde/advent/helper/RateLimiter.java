@@ -0,0 +1,39 @@
+package com.pawanhegde.advent.helper;
+
+import com.pawanhegde.advent.AocException;
+
+import java.time.Duration;
+
+/**
+ * Spaces out calls so that no two of them start less than the given interval apart, no matter how many threads make
+ * them.
+ */
+class RateLimiter {
+	private final long intervalNanos;
+	private long nextSlot = System.nanoTime();
+
+	RateLimiter(Duration interval) {
+		this.intervalNanos = interval.toNanos();
+	}
+
+	/**
+	 * Blocks until the caller is allowed to go ahead.
+	 */
+	void acquire() {
+		long slot;
+		synchronized (this) {
+			slot = Math.max(nextSlot, System.nanoTime());
+			nextSlot = slot + intervalNanos;
+		}
+
+		long waitNanos = slot - System.nanoTime();
+		if (waitNanos > 0) {
+			try {
+				Thread.sleep(waitNanos / 1_000_000, (int) (waitNanos % 1_000_000));
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new AocException("Interrupted while waiting to send a request", e);
+			}
+		}
+	}
+}
@@ -0,0 +1,112 @@
+package com.pawanhegde.advent.helper;
+
+import com.pawanhegde.advent.AocException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Picks the few bits that matter out of the pages of adventofcode.com, reading them one line at a time and stopping as
+ * soon as those bits have been found. The pages are simple and regular enough that this doesn't need a full HTML
+ * parser.
+ */
+class ResponseParser {
+	private static final Pattern PARAGRAPH = Pattern.compile("<p>(.*?)</p>", Pattern.DOTALL);
+	private static final Pattern TAG = Pattern.compile("<[^>]*>");
+	private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+	private static final Pattern ENTITY = Pattern.compile("&(#[0-9]+|#x[0-9a-fA-F]+|[a-z]+);");
+	private static final Pattern CORRECT_ANSWER = Pattern.compile("<p>Your puzzle answer was <code>(.+?)</code>");
+	private static final String ARTICLE_START = "<article";
+	private static final String ARTICLE_END = "</article>";
+	private static final String MAIN_END = "</main>";
+	private static final int PARTS = 2;
+
+	private ResponseParser() {
+	}
+
+	/**
+	 * @return the text of the paragraphs in the first article of the page, which is where the server says what it
+	 * thinks of a submitted answer
+	 */
+	static String readMessage(InputStream page) {
+		StringBuilder article = new StringBuilder();
+		try (BufferedReader reader = toReader(page)) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				int start = article.isEmpty() ? line.indexOf(ARTICLE_START) : 0;
+				if (start >= 0) {
+					article.append(line, start, line.length()).append('\n');
+				}
+				if (!article.isEmpty() && line.contains(ARTICLE_END)) {
+					break;
+				}
+			}
+		} catch (IOException e) {
+			throw new AocException("Could not read the response from the server", e);
+		}
+
+		List<String> paragraphs = new ArrayList<>();
+		Matcher matcher = PARAGRAPH.matcher(article);
+		while (matcher.find()) {
+			paragraphs.add(toText(matcher.group(1)));
+		}
+		return String.join(" ", paragraphs);
+	}
+
+	/**
+	 * @return the answers of the parts that have been solved, as shown on the page of the day
+	 */
+	static List<String> readCorrectAnswers(InputStream page) {
+		List<String> correctAnswers = new ArrayList<>();
+		try (BufferedReader reader = toReader(page)) {
+			String line;
+			while (correctAnswers.size() < PARTS && (line = reader.readLine()) != null) {
+				Matcher matcher = CORRECT_ANSWER.matcher(line);
+				while (matcher.find()) {
+					correctAnswers.add(toText(matcher.group(1)));
+				}
+				if (line.contains(MAIN_END)) {
+					break;
+				}
+			}
+		} catch (IOException e) {
+			throw new AocException("Could not read the page from the server", e);
+		}
+		return correctAnswers;
+	}
+
+	private static BufferedReader toReader(InputStream page) {
+		return new BufferedReader(new InputStreamReader(page, StandardCharsets.UTF_8));
+	}
+
+	private static String toText(String html) {
+		String text = TAG.matcher(html).replaceAll("");
+		text = ENTITY.matcher(text).replaceAll(entity -> Matcher.quoteReplacement(decode(entity.group(1))));
+		return WHITESPACE.matcher(text).replaceAll(" ").strip();
+	}
+
+	private static String decode(String entity) {
+		if (entity.startsWith("#x")) {
+			return Character.toString(Integer.parseInt(entity.substring(2), 16));
+		}
+		if (entity.startsWith("#")) {
+			return Character.toString(Integer.parseInt(entity.substring(1)));
+		}
+		return switch (entity) {
+			case "amp" -> "&";
+			case "lt" -> "<";
+			case "gt" -> ">";
+			case "quot" -> "\"";
+			case "apos" -> "'";
+			case "nbsp" -> " ";
+			default -> "&" + entity + ";";
+		};
+	}
+}
@@ -0,0 +1,215 @@
+package com.pawanhegde.advent.helper;
+
+import com.pawanhegde.advent.Settings;
+import com.pawanhegde.advent.model.Measurement;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.pawanhegde.advent.util.Log.warn;
+
+/**
+ * Remembers the answer that a solution gave on an input, so that a solution that hasn't changed doesn't have to run
+ * again on an input that hasn't changed either.
+ * <p>
+ * A solution counts as unchanged as long as the bytecode of the class it is declared in is the same. Changes to other
+ * classes that the solution uses are not noticed, so run with {@code -Daoc.rerun=true} after changing those.
+ * <p>
+ * The results are stored as tab-separated values rather than JSON, since they are read on every run, and loading a
+ * JSON library would take longer than a quick solution does. Every edit of a solution leaves the results of its old
+ * bytecode behind, which are unlikely to be looked up again, so the file is rewritten without them once they make up
+ * most of it.
+ * <p>
+ * The results are only a cache. A result that can't be read or stored is simply computed again.
+ */
+class ResultCache {
+	private static final Path RESULTS_FILE = Settings.cacheFolder().resolve("results.tsv");
+	// Other processes may be appending to the same file
+	private static final Path LOCK_FILE = Settings.cacheFolder().resolve("results.lock");
+	private static final int COMPACTION_THRESHOLD = 16;
+	private static final Map<Class<?>, Optional<String>> CLASS_HASHES = new ConcurrentHashMap<>();
+	private static Map<String, Result> results;
+
+	private ResultCache() {
+	}
+
+	/**
+	 * @return the key under which the result of running the method on the input is stored, or empty if the method's
+	 * bytecode can't be found
+	 */
+	static Optional<String> keyFor(Method method, String inputHash) {
+		return CLASS_HASHES.computeIfAbsent(method.getDeclaringClass(), ResultCache::hashBytecode)
+				.map(classHash -> classHash + ":" + method.toGenericString() + ":" + inputHash);
+	}
+
+	static synchronized Optional<Result> get(String key) {
+		return Optional.ofNullable(getResults().get(key));
+	}
+
+	static synchronized void put(String key, String answer, Measurement measurement) {
+		Result result = new Result(key, answer, measurement.wallNanos(), measurement.cpuNanos(),
+				measurement.allocatedBytes());
+		getResults().put(key, result);
+		try {
+			String line = result.toLine() + "\n";
+			FileLocks.withLock(LOCK_FILE, () -> Files.writeString(RESULTS_FILE, line, StandardCharsets.UTF_8,
+					StandardOpenOption.CREATE, StandardOpenOption.APPEND));
+		} catch (IOException e) {
+			warn("Could not store the result in " + RESULTS_FILE + ", so it will be computed again next time: " + e);
+		}
+	}
+
+	static void forget(ClassLoader classLoader) {
+		CLASS_HASHES.keySet().removeIf(aClass -> aClass.getClassLoader() == classLoader);
+	}
+
+	private static Map<String, Result> getResults() {
+		if (results == null) {
+			results = new ConcurrentHashMap<>();
+			readResults();
+		}
+		return results;
+	}
+
+	private static void readResults() {
+		if (Files.notExists(RESULTS_FILE)) {
+			return;
+		}
+		try {
+			FileLocks.withLock(LOCK_FILE, () -> {
+				List<String> lines = Files.readAllLines(RESULTS_FILE, StandardCharsets.UTF_8);
+				// Later lines win, since only the latest bytecode of a method is likely to run again
+				Map<String, Result> latest = new LinkedHashMap<>();
+				for (String line : lines) {
+					if (!line.isBlank()) {
+						Result result = Result.fromLine(line);
+						String methodAndInput = result.key().substring(result.key().indexOf(':') + 1);
+						latest.remove(methodAndInput);
+						latest.put(methodAndInput, result);
+					}
+				}
+				latest.values().forEach(result -> results.put(result.key(), result));
+				if (lines.size() >= COMPACTION_THRESHOLD && lines.size() - latest.size() > latest.size()) {
+					compact(latest.values());
+				}
+				return null;
+			});
+		} catch (IOException | RuntimeException e) {
+			// The results are only a cache, so the solutions are simply run again
+			results.clear();
+		}
+	}
+
+	/**
+	 * Rewrites the results file with only the given results. Must be called while holding the lock.
+	 */
+	private static void compact(Collection<Result> live) {
+		StringBuilder lines = new StringBuilder();
+		for (Result result : live) {
+			lines.append(result.toLine()).append('\n');
+		}
+		Path temporaryFile = null;
+		try {
+			temporaryFile = Files.createTempFile(RESULTS_FILE.getParent(), RESULTS_FILE.getFileName().toString(),
+					".part");
+			Files.writeString(temporaryFile, lines, StandardCharsets.UTF_8);
+			Files.move(temporaryFile, RESULTS_FILE, StandardCopyOption.ATOMIC_MOVE,
+					StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException e) {
+			warn("Could not compact " + RESULTS_FILE + ": " + e);
+			try {
+				if (temporaryFile != null) {
+					Files.deleteIfExists(temporaryFile);
+				}
+			} catch (IOException ignored) {
+				// Only a stray temporary file is left behind
+			}
+		}
+	}
+
+	private static Optional<String> hashBytecode(Class<?> aClass) {
+		String resource = aClass.getName().replace('.', '/') + ".class";
+		ClassLoader classLoader = aClass.getClassLoader();
+		try (InputStream in = classLoader == null ? null : classLoader.getResourceAsStream(resource)) {
+			if (in == null) {
+				return Optional.empty();
+			}
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			return Optional.of(HexFormat.of().formatHex(digest.digest(in.readAllBytes())));
+		} catch (IOException | NoSuchAlgorithmException e) {
+			return Optional.empty();
+		}
+	}
+
+	record Result(String key, String answer, long wallNanos, long cpuNanos, long allocatedBytes) {
+		private static final int FIELDS = 5;
+
+		static Result fromLine(String line) {
+			String[] fields = line.split("\t", -1);
+			if (fields.length != FIELDS) {
+				throw new IllegalArgumentException("Expected " + FIELDS + " fields, but got " + fields.length);
+			}
+			return new Result(unescape(fields[0]), unescape(fields[1]), Long.parseLong(fields[2]),
+					Long.parseLong(fields[3]), Long.parseLong(fields[4]));
+		}
+
+		String toLine() {
+			return escape(key) + "\t" + escape(answer) + "\t" + wallNanos + "\t" + cpuNanos + "\t" + allocatedBytes;
+		}
+
+		Measurement measurement() {
+			return new Measurement(wallNanos, cpuNanos, allocatedBytes);
+		}
+
+		/**
+		 * Answers can be anything a solution returns, including text that spans several lines.
+		 */
+		private static String escape(String text) {
+			StringBuilder escaped = new StringBuilder(text.length());
+			for (int i = 0; i < text.length(); i++) {
+				char c = text.charAt(i);
+				switch (c) {
+					case '\\' -> escaped.append("\\\\");
+					case '\t' -> escaped.append("\\t");
+					case '\n' -> escaped.append("\\n");
+					case '\r' -> escaped.append("\\r");
+					default -> escaped.append(c);
+				}
+			}
+			return escaped.toString();
+		}
+
+		private static String unescape(String text) {
+			StringBuilder unescaped = new StringBuilder(text.length());
+			for (int i = 0; i < text.length(); i++) {
+				char c = text.charAt(i);
+				if (c != '\\' || i + 1 == text.length()) {
+					unescaped.append(c);
+					continue;
+				}
+				switch (text.charAt(++i)) {
+					case 't' -> unescaped.append('\t');
+					case 'n' -> unescaped.append('\n');
+					case 'r' -> unescaped.append('\r');
+					default -> unescaped.append(text.charAt(i));
+				}
+			}
+			return unescaped.toString();
+		}
+	}
+}
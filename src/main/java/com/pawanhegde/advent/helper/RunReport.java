@@ -0,0 +1,101 @@
+package com.pawanhegde.advent.helper;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pawanhegde.advent.AocException;
+import com.pawanhegde.advent.model.Measurement;
+import com.pawanhegde.advent.model.Phase;
+import com.pawanhegde.advent.model.ProblemId;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.util.Comparator.comparingInt;
+
+/**
+ * Collects the measurements of every attempt in this run, so that it is easy to tell whether a slow run was caused
+ * by the solution, the disk or adventofcode.com.
+ */
+public class RunReport {
+	private static final Map<ProblemId, Map<Phase, Measurement>> MEASUREMENTS = new ConcurrentHashMap<>();
+
+	private RunReport() {
+	}
+
+	static void record(ProblemId problemId, Phase phase, Measurement measurement) {
+		Map<Phase, Measurement> phases = MEASUREMENTS.computeIfAbsent(problemId, p -> new EnumMap<>(Phase.class));
+		synchronized (phases) {
+			phases.merge(phase, measurement, Measurement::plus);
+		}
+	}
+
+	/**
+	 * Drops the measurements of the problem, so that the next attempt at it is measured on its own.
+	 */
+	static void forget(ProblemId problemId) {
+		MEASUREMENTS.remove(problemId);
+	}
+
+	/**
+	 * @return a one-line summary of where the time went for the problem
+	 */
+	public static String summarize(ProblemId problemId) {
+		Map<Phase, Measurement> phases = MEASUREMENTS.getOrDefault(problemId, Map.of());
+		StringBuilder summary = new StringBuilder(problemId + " took");
+		synchronized (phases) {
+			phases.forEach((phase, measurement) -> summary.append(" | ").append(phase).append(": ").append(measurement));
+		}
+		return summary.toString();
+	}
+
+	/**
+	 * Writes all the measurements so far to a file. The file is written as CSV if its name ends with .csv, and as
+	 * JSON otherwise.
+	 *
+	 * @param file the file to write to
+	 */
+	public static void write(Path file) {
+		List<Row> rows = getRows();
+		try {
+			if (file.toAbsolutePath().getParent() != null) {
+				Files.createDirectories(file.toAbsolutePath().getParent());
+			}
+			if (file.getFileName().toString().endsWith(".csv")) {
+				writeCsv(file, rows);
+			} else {
+				new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(file.toFile(), rows);
+			}
+		} catch (IOException e) {
+			throw new AocException("Could not write the run report to " + file, e);
+		}
+	}
+
+	private static List<Row> getRows() {
+		List<Row> rows = new ArrayList<>();
+		MEASUREMENTS.forEach((problemId, phases) -> {
+			synchronized (phases) {
+				phases.forEach((phase, m) -> rows.add(new Row(problemId.year(), problemId.day(), problemId.part(),
+						phase, m.wallNanos(), m.cpuNanos(), m.allocatedBytes())));
+			}
+		});
+		rows.sort(comparingInt(Row::year).thenComparingInt(Row::day).thenComparingInt(Row::part)
+				.thenComparing(Row::phase));
+		return rows;
+	}
+
+	private static void writeCsv(Path file, List<Row> rows) throws IOException {
+		List<String> lines = new ArrayList<>();
+		lines.add("year,day,part,phase,wallNanos,cpuNanos,allocatedBytes");
+		rows.forEach(r -> lines.add(r.year() + "," + r.day() + "," + r.part() + "," + r.phase() + "," +
+				r.wallNanos() + "," + r.cpuNanos() + "," + r.allocatedBytes()));
+		Files.write(file, lines);
+	}
+
+	private record Row(int year, int day, int part, Phase phase, long wallNanos, long cpuNanos, long allocatedBytes) {
+	}
+}
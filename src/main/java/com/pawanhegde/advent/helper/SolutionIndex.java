@@ -0,0 +1,90 @@
+package com.pawanhegde.advent.helper;
+
+import com.pawanhegde.advent.AocException;
+import com.pawanhegde.advent.model.ProblemId;
+import com.pawanhegde.advent.processor.SolutionIndexProcessor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reads the index of solutions written by the {@link SolutionIndexProcessor} at compile-time.
+ */
+class SolutionIndex {
+	private static final Map<ClassLoader, Map<String, List<String[]>>> INDEXES = new ConcurrentHashMap<>();
+	private static final Map<String, Class<?>> PRIMITIVES = Map.of("boolean", boolean.class, "byte", byte.class,
+			"char", char.class, "short", short.class, "int", int.class, "long", long.class, "float", float.class,
+			"double", double.class);
+
+	private SolutionIndex() {
+	}
+
+	/**
+	 * @return every solution in the class, including any that solve the same problem, or empty if the class is not in
+	 * the index
+	 */
+	static Optional<List<Map.Entry<ProblemId, Method>>> lookup(Class<?> aClass) {
+		ClassLoader classLoader = aClass.getClassLoader();
+		if (classLoader == null) {
+			return Optional.empty();
+		}
+
+		List<String[]> entries = INDEXES.computeIfAbsent(classLoader, SolutionIndex::load).get(aClass.getName());
+		if (entries == null) {
+			return Optional.empty();
+		}
+
+		List<Map.Entry<ProblemId, Method>> solutions = new ArrayList<>();
+		for (String[] entry : entries) {
+			ProblemId problemId = new ProblemId(Integer.parseInt(entry[0]), Integer.parseInt(entry[1]),
+					Integer.parseInt(entry[2]));
+			solutions.add(Map.entry(problemId, findMethod(aClass, entry[4], entry[5])));
+		}
+		return Optional.of(solutions);
+	}
+
+	private static Method findMethod(Class<?> aClass, String methodName, String parameterClassName) {
+		try {
+			Class<?> parameterClass = PRIMITIVES.containsKey(parameterClassName) ? PRIMITIVES.get(parameterClassName)
+					: Class.forName(parameterClassName, false, aClass.getClassLoader());
+			return aClass.getMethod(methodName, parameterClass);
+		} catch (ReflectiveOperationException e) {
+			throw new AocException("The solution index is out of date for " + aClass.getName() + "#" + methodName +
+					". Please rebuild the project.", e);
+		}
+	}
+
+	static void forget(ClassLoader classLoader) {
+		INDEXES.remove(classLoader);
+	}
+
+	private static Map<String, List<String[]>> load(ClassLoader classLoader) {
+		Map<String, List<String[]>> index = new HashMap<>();
+		try {
+			Enumeration<URL> resources = classLoader.getResources(SolutionIndexProcessor.INDEX_FILE);
+			while (resources.hasMoreElements()) {
+				try (InputStream in = resources.nextElement().openStream()) {
+					for (String line : new String(in.readAllBytes(), StandardCharsets.UTF_8).split("\n")) {
+						String[] entry = line.split("\t");
+						if (entry.length == 6) {
+							index.computeIfAbsent(entry[3], k -> new ArrayList<>()).add(entry);
+						}
+					}
+				}
+			}
+		} catch (IOException e) {
+			throw new AocException("Could not read the solution index", e);
+		}
+		return index;
+	}
+}
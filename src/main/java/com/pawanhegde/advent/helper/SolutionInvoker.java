@@ -0,0 +1,85 @@
+package com.pawanhegde.advent.helper;
+
+import com.pawanhegde.advent.AocException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Invokes solution methods through method handles that are resolved only once per solution.
+ * For instance methods, the constructor of the declaring class is resolved along with the method, and every run gets a
+ * new instance, so that nothing a solution keeps in its fields carries over from one run to the next.
+ */
+public class SolutionInvoker {
+	private static final MethodType INVOCATION_TYPE = MethodType.methodType(Object.class, Object.class);
+	private static final Map<Method, MethodHandle> HANDLES = new ConcurrentHashMap<>();
+
+	private SolutionInvoker() {
+	}
+
+	/**
+	 * Resolves the method handle for a solution so that later invocations don't need to.
+	 *
+	 * @param method the solution method
+	 */
+	public static void prepare(Method method) {
+		HANDLES.computeIfAbsent(method, SolutionInvoker::createHandle);
+	}
+
+	/**
+	 * Runs a solution on the given input.
+	 *
+	 * @param method the solution method
+	 * @param input  the input to pass to the solution
+	 * @return whatever the solution returned
+	 */
+	public static Object invoke(Method method, Object input) {
+		MethodHandle handle = HANDLES.computeIfAbsent(method, SolutionInvoker::createHandle);
+		try {
+			return handle.invokeExact(input);
+		} catch (Throwable e) {
+			throw new AocException(getFullMethodName(method) + " failed on the given input", e);
+		}
+	}
+
+	/**
+	 * Drops the method handles of the solutions loaded by the class loader, so that the loader can be unloaded.
+	 */
+	static void forget(ClassLoader classLoader) {
+		HANDLES.keySet().removeIf(method -> method.getDeclaringClass().getClassLoader() == classLoader);
+	}
+
+	private static MethodHandle createHandle(Method method) {
+		String className = method.getDeclaringClass().getName();
+		String methodName = method.getName();
+		if (!InputAdapters.supports(method)) {
+			throw new AocException("Failed to run " + getFullMethodName(method) + ". Ensure that " + methodName +
+					" only accepts one of the following as the input: " +
+					String.join(", ", InputAdapters.supportedTypes()));
+		}
+
+		try {
+			MethodHandles.Lookup lookup = MethodHandles.lookup();
+			MethodHandle handle = lookup.unreflect(method);
+			if (!Modifier.isStatic(method.getModifiers())) {
+				Class<?> aClass = method.getDeclaringClass();
+				MethodHandle constructor = lookup.findConstructor(aClass, MethodType.methodType(void.class));
+				// (input) -> method(new aClass(), input)
+				handle = MethodHandles.foldArguments(handle, constructor);
+			}
+			return handle.asType(INVOCATION_TYPE);
+		} catch (Throwable e) {
+			throw new AocException("Failed to run " + getFullMethodName(method) + ". Ensure that " + className +
+					" has a public default constructor and that both are accessible", e);
+		}
+	}
+
+	private static String getFullMethodName(Method method) {
+		return method.getDeclaringClass().getName() + "#" + method.getName();
+	}
+}
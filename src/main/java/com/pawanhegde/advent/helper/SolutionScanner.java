@@ -0,0 +1,217 @@
+package com.pawanhegde.advent.helper;
+
+import com.pawanhegde.advent.AocException;
+import com.pawanhegde.advent.Settings;
+import com.pawanhegde.advent.model.ProblemId;
+import com.pawanhegde.advent.model.SolutionFilter;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+
+import static com.pawanhegde.advent.util.Log.warn;
+
+/**
+ * Finds the solutions in all the classes of a package and its sub-packages, whether they are in directories or jars.
+ * <p>
+ * Which problems each class solves is remembered in a scan cache, along with the size and modification time (or CRC,
+ * for jars) of its class file. On later scans, classes that have not changed and have no solutions that pass the
+ * filter are not even loaded. The cache only keeps the class files that the latest scan found, so it doesn't grow as
+ * classes are deleted or renamed.
+ * <p>
+ * A class that can't be loaded, for example because it needs a library that is missing, is reported and skipped, so
+ * that the solutions in the other classes can still run.
+ */
+public class SolutionScanner {
+	private static final Path SCAN_CACHE_FILE = Settings.cacheFolder().resolve("scan-cache.tsv");
+	private static final String CLASS_SUFFIX = ".class";
+
+	private SolutionScanner() {
+	}
+
+	/**
+	 * @param packageName the package to scan, such as {@code com.example.aoc}
+	 * @param filter      selects the solutions to return
+	 * @return the solutions in the package that pass the filter, ordered by problem
+	 */
+	public static SortedMap<ProblemId, Method> scan(String packageName, SolutionFilter filter) {
+		ClassLoader classLoader = getClassLoader();
+		Map<String, CacheEntry> cache = readCache();
+		Map<String, CacheEntry> updatedCache = new HashMap<>();
+		SortedMap<ProblemId, Method> solutions = new TreeMap<>();
+
+		for (ClassFile classFile : findClassFiles(classLoader, packageName)) {
+			CacheEntry cached = cache.get(classFile.location());
+			if (cached != null && cached.stamp().equals(classFile.stamp())
+					&& cached.problemIds().stream().noneMatch(filter)) {
+				updatedCache.put(classFile.location(), cached);
+				continue;
+			}
+
+			Optional<Map<ProblemId, Method>> loaded = getSolutions(classLoader, classFile.className());
+			if (loaded.isEmpty()) {
+				// Not cached, so that the class is tried again once whatever it is missing has been added
+				continue;
+			}
+			Map<ProblemId, Method> found = loaded.get();
+			updatedCache.put(classFile.location(), new CacheEntry(classFile.stamp(), List.copyOf(found.keySet())));
+			found.forEach((problemId, method) -> {
+				if (filter.test(problemId)) {
+					SolutionSupplier.checkIfDuplicateSolutions(solutions, problemId, method);
+					solutions.put(problemId, method);
+				}
+			});
+		}
+
+		if (!updatedCache.equals(cache)) {
+			writeCache(updatedCache);
+		}
+		return solutions;
+	}
+
+	private static ClassLoader getClassLoader() {
+		ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+		return classLoader != null ? classLoader : SolutionScanner.class.getClassLoader();
+	}
+
+	/**
+	 * @return the solutions in the class, or empty if the class can't be loaded
+	 */
+	private static Optional<Map<ProblemId, Method>> getSolutions(ClassLoader classLoader, String className) {
+		try {
+			Class<?> aClass = Class.forName(className, false, classLoader);
+			if (aClass.isInterface() || Modifier.isAbstract(aClass.getModifiers()) || aClass.isAnonymousClass()) {
+				return Optional.of(Map.of());
+			}
+			return Optional.of(SolutionSupplier.getAocSolutions(aClass));
+		} catch (ClassNotFoundException | LinkageError e) {
+			warn("Skipping " + className + ", since it could not be loaded: " + e);
+			return Optional.empty();
+		}
+	}
+
+	private static List<ClassFile> findClassFiles(ClassLoader classLoader, String packageName) {
+		String packagePath = packageName.replace('.', '/');
+		List<ClassFile> classFiles = new ArrayList<>();
+		try {
+			Enumeration<URL> roots = classLoader.getResources(packagePath);
+			while (roots.hasMoreElements()) {
+				URL root = roots.nextElement();
+				if ("file".equals(root.getProtocol())) {
+					findClassFilesInDirectory(Path.of(root.toURI()), packageName, classFiles);
+				} else if ("jar".equals(root.getProtocol())) {
+					findClassFilesInJar((JarURLConnection) root.openConnection(), packagePath, classFiles);
+				}
+			}
+		} catch (IOException | URISyntaxException e) {
+			throw new AocException("Could not scan the package " + packageName, e);
+		}
+		return classFiles;
+	}
+
+	private static void findClassFilesInDirectory(Path directory, String packageName, List<ClassFile> classFiles)
+			throws IOException {
+		try (Stream<Path> files = Files.walk(directory)) {
+			for (Path file : files.filter(f -> isClassFile(f.toString())).toList()) {
+				String relativeName = directory.relativize(file).toString()
+						.replace(file.getFileSystem().getSeparator(), ".");
+				String className = packageName + "."
+						+ relativeName.substring(0, relativeName.length() - CLASS_SUFFIX.length());
+				String stamp = Files.size(file) + ":" + Files.getLastModifiedTime(file).toMillis();
+				classFiles.add(new ClassFile(className, file.toAbsolutePath().toString(), stamp));
+			}
+		}
+	}
+
+	private static void findClassFilesInJar(JarURLConnection connection, String packagePath, List<ClassFile> classFiles)
+			throws IOException {
+		connection.setUseCaches(false);
+		try (JarFile jar = connection.getJarFile()) {
+			Enumeration<JarEntry> entries = jar.entries();
+			while (entries.hasMoreElements()) {
+				JarEntry entry = entries.nextElement();
+				String name = entry.getName();
+				if (name.startsWith(packagePath + "/") && isClassFile(name)) {
+					String className = name.substring(0, name.length() - CLASS_SUFFIX.length()).replace('/', '.');
+					String stamp = entry.getSize() + ":" + entry.getCrc();
+					classFiles.add(new ClassFile(className, jar.getName() + "!" + name, stamp));
+				}
+			}
+		}
+	}
+
+	private static boolean isClassFile(String name) {
+		return name.endsWith(CLASS_SUFFIX) && !name.endsWith("module-info.class")
+				&& !name.endsWith("package-info.class");
+	}
+
+	private static Map<String, CacheEntry> readCache() {
+		Map<String, CacheEntry> cache = new HashMap<>();
+		if (Files.notExists(SCAN_CACHE_FILE)) {
+			return cache;
+		}
+		try {
+			for (String line : Files.readAllLines(SCAN_CACHE_FILE)) {
+				String[] fields = line.split("\t", -1);
+				if (fields.length == 3) {
+					cache.put(fields[0], new CacheEntry(fields[1], parseProblemIds(fields[2])));
+				}
+			}
+		} catch (IOException e) {
+			// The cache is only an optimisation, so everything is simply scanned again
+			return new HashMap<>();
+		}
+		return cache;
+	}
+
+	private static void writeCache(Map<String, CacheEntry> cache) {
+		List<String> lines = new ArrayList<>();
+		cache.forEach((location, entry) -> lines.add(location + "\t" + entry.stamp() + "\t" +
+				String.join(",", entry.problemIds().stream().map(SolutionScanner::formatProblemId).toList())));
+		try {
+			Files.createDirectories(SCAN_CACHE_FILE.getParent());
+			Path temporaryFile = Files.createTempFile(SCAN_CACHE_FILE.getParent(), "scan-cache", ".part");
+			Files.write(temporaryFile, lines);
+			Files.move(temporaryFile, SCAN_CACHE_FILE, StandardCopyOption.ATOMIC_MOVE,
+					StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException e) {
+			throw new AocException("Could not update the scan cache", e);
+		}
+	}
+
+	private static String formatProblemId(ProblemId problemId) {
+		return problemId.year() + "/" + problemId.day() + "/" + problemId.part();
+	}
+
+	private static List<ProblemId> parseProblemIds(String field) {
+		if (field.isEmpty()) {
+			return List.of();
+		}
+		return Stream.of(field.split(",")).map(id -> id.split("/"))
+				.map(id -> new ProblemId(Integer.parseInt(id[0]), Integer.parseInt(id[1]), Integer.parseInt(id[2])))
+				.toList();
+	}
+
+	private record ClassFile(String className, String location, String stamp) {
+	}
+
+	private record CacheEntry(String stamp, List<ProblemId> problemIds) {
+	}
+}
@@ -7,60 +7,85 @@ import com.pawanhegde.advent.model.ProblemId;
 import java.lang.reflect.Method;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.SortedMap;
 import java.util.TreeMap;
 
-import static java.util.Comparator.comparing;
-
 public class SolutionSupplier {
 	private SolutionSupplier() {
 	}
 
+	/**
+	 * Finds the solutions in the class of the given instance.
+	 *
+	 * @param instance an instance of the class with the solutions, or the class itself
+	 * @return the solutions, ordered by problem
+	 * @see #getAocSolutions(Class)
+	 */
 	public static SortedMap<ProblemId, Method> getAocSolutions(Object instance) {
-		TreeMap<ProblemId, Method> problemsToSolutions = new TreeMap<>(comparing(p -> p.year() + p.day() + p.part()));
-		for (Method method : instance.getClass().getMethods()) {
-			Optional<ProblemId> problemId = extractProblemIdFromAnnotation(method).or(() -> extractProblemIdFromName(method));
+		return getAocSolutions(instance instanceof Class<?> aClass ? aClass : instance.getClass());
+	}
 
-			problemId.ifPresent(problem -> {
-				checkIfProblemIdIsValid(problem, method.getName());
-				checkIfDuplicateSolutions(problemsToSolutions, problem, method);
-				problemsToSolutions.put(problem, method);
-			});
+	/**
+	 * Finds the solutions in a class. If the class was compiled with the
+	 * {@link com.pawanhegde.advent.processor.SolutionIndexProcessor}, the solutions are taken from the index it wrote.
+	 * Otherwise, every public method of the class is checked.
+	 *
+	 * @param aClass the class with the solutions
+	 * @return the solutions, ordered by problem
+	 */
+	public static SortedMap<ProblemId, Method> getAocSolutions(Class<?> aClass) {
+		ZonedDateTime now = ZonedDateTime.now(ZoneOffset.UTC);
+		TreeMap<ProblemId, Method> problemsToSolutions = new TreeMap<>();
+		Optional<List<Map.Entry<ProblemId, Method>>> indexed = SolutionIndex.lookup(aClass);
+		if (indexed.isPresent()) {
+			indexed.get().forEach(entry -> addSolution(problemsToSolutions, entry.getKey(), entry.getValue(), now));
+			return problemsToSolutions;
 		}
-		return problemsToSolutions;
-	}
 
-	private static Optional<ProblemId> extractProblemIdFromAnnotation(Method method) {
-		return Optional.ofNullable(method.getAnnotation(AdventOfCode.class))
-				.map(aoc -> new ProblemId(aoc.year(), aoc.day(), aoc.part()));
+		for (Method method : aClass.getMethods()) {
+			extractProblemIdFromAnnotation(method)
+					.or(() -> ProblemId.fromMethodName(method.getName()))
+					.ifPresent(problem -> addSolution(problemsToSolutions, problem, method, now));
+		}
+		return problemsToSolutions;
 	}
 
 	/**
-	 * Extracts the problem id from the method name. The method name should be of the form adventYYYYDDP where YYYY is the
-	 * year, DD is the day and P is the part.
-	 * For example, advent2020011 is the solution for the first part of the problem on day 1 of 2020, and
-	 * advent2023012 is the solution for the second part of the problem on day 3 of 2023.
+	 * Finds the solutions in several classes.
 	 *
-	 * @param method the method to extract the problem id from
-	 * @return the problem id if the method name matches the pattern, empty otherwise
+	 * @param classes the classes with the solutions
+	 * @return the solutions, ordered by class and then by problem
+	 * @throws AocException if a problem is solved in more than one of the classes
 	 */
-	private static Optional<ProblemId> extractProblemIdFromName(Method method) {
-		String methodName = method.getName();
-		if (!methodName.startsWith("advent")) {
-			return Optional.empty();
-		}
-		try {
-			int year = Integer.parseInt(methodName.substring(6, 10));
-			int day = Integer.parseInt(methodName.substring(10, 12));
-			int part = Integer.parseInt(methodName.substring(12, 13));
-			return Optional.of(new ProblemId(year, day, part));
-		} catch (NumberFormatException e) {
-			return Optional.empty();
+	public static Map<ProblemId, Method> collectAocSolutions(Class<?>... classes) {
+		Map<ProblemId, Method> solutions = new LinkedHashMap<>();
+		for (Class<?> aClass : classes) {
+			getAocSolutions(aClass).forEach((problem, method) -> {
+				checkIfDuplicateSolutions(solutions, problem, method);
+				solutions.put(problem, method);
+			});
 		}
+		return solutions;
+	}
+
+	private static void addSolution(TreeMap<ProblemId, Method> problemsToSolutions, ProblemId problem, Method method,
+									ZonedDateTime now) {
+		checkIfProblemIdIsValid(problem, method.getName(), now);
+		checkIfDuplicateSolutions(problemsToSolutions, problem, method);
+		SolutionInvoker.prepare(method);
+		problemsToSolutions.put(problem, method);
+	}
+
+	private static Optional<ProblemId> extractProblemIdFromAnnotation(Method method) {
+		return Optional.ofNullable(method.getAnnotation(AdventOfCode.class))
+				.map(aoc -> new ProblemId(aoc.year(), aoc.day(), aoc.part()));
 	}
 
-	private static void checkIfProblemIdIsValid(ProblemId problem, String name) {
+	private static void checkIfProblemIdIsValid(ProblemId problem, String name, ZonedDateTime now) {
 		if (problem.year() < 2015) {
 			throw new AocException("Advent of code started in 2015. " + name + " does not have a valid year.");
 		}
@@ -71,14 +96,14 @@ public class SolutionSupplier {
 			throw new AocException("There are only 2 parts to each problem. " + name + " does not have a valid part id.");
 		}
 
-		int year = ZonedDateTime.now(ZoneOffset.UTC).getYear();
-		int day = ZonedDateTime.now(ZoneOffset.UTC).getDayOfMonth();
+		int year = now.getYear();
+		int day = now.getDayOfMonth();
 		if (problem.year() > year || (problem.year() == year && problem.day() > day)) {
 			throw new AocException("The puzzle for " + problem + " has not been released yet. Please double-check " + name + ".");
 		}
 	}
 
-	private static void checkIfDuplicateSolutions(TreeMap<ProblemId, Method> problemsToSolutions, ProblemId problem, Method method) {
+	static void checkIfDuplicateSolutions(Map<ProblemId, Method> problemsToSolutions, ProblemId problem, Method method) {
 		Method existingSolution = problemsToSolutions.get(problem);
 		if (existingSolution != null && !existingSolution.equals(method)) {
 			throw new AocException("Multiple solutions found for " + problem + ". " + getFullMethodName(existingSolution) +
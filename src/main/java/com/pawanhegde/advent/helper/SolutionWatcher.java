@@ -0,0 +1,264 @@
+package com.pawanhegde.advent.helper;
+
+import com.pawanhegde.advent.AocException;
+import com.pawanhegde.advent.Settings;
+import com.pawanhegde.advent.model.ProblemId;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.net.URISyntaxException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.security.CodeSource;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static com.pawanhegde.advent.util.Log.error;
+import static com.pawanhegde.advent.util.Log.info;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+/**
+ * Runs solutions, and then runs them again whenever their classes or inputs change, all in the same JVM.
+ * <p>
+ * Only compiled classes are watched, so something else has to compile the sources, such as the IDE or
+ * {@code ./gradlew --continuous classes}. When a class changes, all the watched classes are loaded again in a new
+ * {@link HotReloadClassLoader}, and the solutions in the classes that changed are run again. If any other class
+ * changed, such as a helper that the solutions share, all the solutions are run again. When an input or a sample
+ * changes, the solutions to that day are run again.
+ */
+public class SolutionWatcher {
+	// Compilers write several class files one after another, so changes are only acted upon once they stop coming in
+	private static final long QUIET_PERIOD_MILLIS = 300;
+	private static final String CLASS_SUFFIX = ".class";
+
+	private SolutionWatcher() {
+	}
+
+	/**
+	 * Runs the solutions in the classes, and then keeps running them again as they change, until the thread is
+	 * interrupted.
+	 *
+	 * @param classes the classes with the solutions, which must have been loaded from directories
+	 */
+	public static void watch(Class<?>... classes) {
+		List<Path> classRoots = getClassRoots(classes);
+		Path inputsFolder = InputHelper.getInputsFolder().toAbsolutePath();
+		ClassLoader parent = classes[0].getClassLoader();
+		List<String> classNames = Stream.of(classes).map(Class::getName).toList();
+
+		try (WatchService watchService = FileSystems.getDefault().newWatchService()) {
+			for (Path root : classRoots) {
+				register(watchService, root);
+			}
+			if (Files.isDirectory(inputsFolder)) {
+				register(watchService, inputsFolder);
+			}
+
+			Generation generation = new Generation(null, getSolutions(Stream.of(classes).toList()));
+			attemptAll(generation.solutions(), Settings.rerun());
+			info("Watching " + classRoots + " and " + inputsFolder + " for changes...");
+
+			while (!Thread.currentThread().isInterrupted()) {
+				Changes changes = awaitChanges(watchService, classRoots, inputsFolder);
+				if (!changes.classes().isEmpty()) {
+					generation = reload(generation, classNames, classRoots, parent);
+				}
+				Set<String> declaringClasses = generation.declaringClasses();
+				Map<ProblemId, Method> affected = new LinkedHashMap<>();
+				generation.solutions().forEach((problemId, method) -> {
+					if (changes.affect(problemId, method, declaringClasses)) {
+						affected.put(problemId, method);
+					}
+				});
+				if (!affected.isEmpty()) {
+					info("Running " + affected.keySet() + " again...");
+					affected.keySet().forEach(RunReport::forget);
+					// Whatever changed might not be visible in the bytecode of the solution, so nothing is reused
+					attemptAll(affected, true);
+				}
+			}
+		} catch (IOException e) {
+			throw new AocException("Could not watch " + classRoots + " for changes", e);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static void attemptAll(Map<ProblemId, Method> solutions, boolean rerun) {
+		ParallelExecutor.attemptAll(solutions, Settings.parallelism(), Settings.timeout(), rerun);
+		Settings.reportFile().ifPresent(RunReport::write);
+	}
+
+	private static Generation reload(Generation current, List<String> classNames, List<Path> classRoots,
+									 ClassLoader parent) {
+		HotReloadClassLoader classLoader = new HotReloadClassLoader(classRoots, parent);
+		try {
+			List<Class<?>> classes = new ArrayList<>();
+			for (String className : classNames) {
+				classes.add(Class.forName(className, false, classLoader));
+			}
+			Generation reloaded = new Generation(classLoader, getSolutions(classes));
+			if (current.classLoader() != null) {
+				forget(current.classLoader());
+			}
+			return reloaded;
+		} catch (ClassNotFoundException | LinkageError | AocException e) {
+			// Most likely, the compiler is not done yet. The next change will tell.
+			error("Could not reload the solutions, so the previous ones are kept: " + e);
+			forget(classLoader);
+			return current;
+		}
+	}
+
+	private static Map<ProblemId, Method> getSolutions(List<Class<?>> classes) {
+		return SolutionSupplier.collectAocSolutions(classes.toArray(new Class<?>[0]));
+	}
+
+	private static void forget(ClassLoader classLoader) {
+		SolutionInvoker.forget(classLoader);
+		SolutionIndex.forget(classLoader);
+		ResultCache.forget(classLoader);
+		ParsedInputs.forget(classLoader);
+	}
+
+	private static List<Path> getClassRoots(Class<?>... classes) {
+		if (classes.length == 0) {
+			throw new AocException("Pass the classes with the solutions to watch");
+		}
+		Path libraryRoot = getClassRoot(SolutionWatcher.class);
+		Set<Path> roots = new HashSet<>();
+		for (Class<?> aClass : classes) {
+			Path root = getClassRoot(aClass);
+			if (root == null || !Files.isDirectory(root) || root.equals(libraryRoot)) {
+				throw new AocException("Cannot watch " + aClass.getName() + " because it is not in a directory of its " +
+						"own. Solutions can only be reloaded when they are compiled separately from this library.");
+			}
+			roots.add(root);
+		}
+		return List.copyOf(roots);
+	}
+
+	private static Path getClassRoot(Class<?> aClass) {
+		CodeSource codeSource = aClass.getProtectionDomain().getCodeSource();
+		if (codeSource == null || codeSource.getLocation() == null) {
+			return null;
+		}
+		try {
+			return Path.of(codeSource.getLocation().toURI()).toAbsolutePath();
+		} catch (URISyntaxException | IllegalArgumentException e) {
+			return null;
+		}
+	}
+
+	private static void register(WatchService watchService, Path directory) throws IOException {
+		// A WatchService only watches the directory itself, not the ones inside it
+		try (Stream<Path> directories = Files.walk(directory)) {
+			for (Path subdirectory : directories.filter(Files::isDirectory).toList()) {
+				subdirectory.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+			}
+		}
+	}
+
+	private static Changes awaitChanges(WatchService watchService, List<Path> classRoots, Path inputsFolder)
+			throws IOException, InterruptedException {
+		Changes changes = new Changes(new HashSet<>(), new HashSet<>(), new HashSet<>());
+		WatchKey key = watchService.take();
+		while (key != null) {
+			Path directory = (Path) key.watchable();
+			for (WatchEvent<?> event : key.pollEvents()) {
+				if (event.kind() == OVERFLOW) {
+					changes.classes().add("*");
+					continue;
+				}
+				Path path = directory.resolve((Path) event.context());
+				if (event.kind() == ENTRY_CREATE && Files.isDirectory(path)) {
+					// Files might have been created in the directory before it was registered
+					register(watchService, path);
+					try (Stream<Path> files = Files.walk(path)) {
+						files.filter(Files::isRegularFile).forEach(file -> changes.add(file, classRoots, inputsFolder));
+					}
+				} else {
+					changes.add(path, classRoots, inputsFolder);
+				}
+			}
+			key.reset();
+			key = watchService.poll(QUIET_PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+		}
+		return changes;
+	}
+
+	private static String getTopLevelClassName(String className) {
+		int nested = className.indexOf('$');
+		return nested < 0 ? className : className.substring(0, nested);
+	}
+
+	private record Generation(ClassLoader classLoader, Map<ProblemId, Method> solutions) {
+		Set<String> declaringClasses() {
+			Set<String> classNames = new HashSet<>();
+			solutions.values().forEach(method -> classNames.add(getTopLevelClassName(method.getDeclaringClass()
+					.getName())));
+			return classNames;
+		}
+	}
+
+	/**
+	 * What changed since the last run. The classes are the names of the top-level classes, or {@code *} when it is not
+	 * known which classes changed. The days are {@code year/day}, and the yearless days are those of the samples that
+	 * are shared by all years.
+	 */
+	private record Changes(Set<String> classes, Set<String> days, Set<Integer> yearlessDays) {
+		void add(Path path, List<Path> classRoots, Path inputsFolder) {
+			String fileName = path.getFileName().toString();
+			for (Path root : classRoots) {
+				if (path.startsWith(root) && fileName.endsWith(CLASS_SUFFIX)) {
+					String relativeName = root.relativize(path).toString();
+					classes.add(getTopLevelClassName(relativeName
+							.substring(0, relativeName.length() - CLASS_SUFFIX.length())
+							.replace(path.getFileSystem().getSeparator(), ".")));
+					return;
+				}
+			}
+			// Inputs are downloaded to a temporary file first, which is then moved in place
+			if (!path.startsWith(inputsFolder) || fileName.endsWith(".part")) {
+				return;
+			}
+			Path relativePath = inputsFolder.relativize(path);
+			try {
+				if (relativePath.getNameCount() == 3) {
+					days.add(Integer.parseInt(relativePath.getName(0).toString()) + "/"
+							+ Integer.parseInt(relativePath.getName(1).toString()));
+				} else if (relativePath.getNameCount() == 2) {
+					yearlessDays.add(Integer.parseInt(relativePath.getName(0).toString()));
+				}
+			} catch (NumberFormatException e) {
+				// Not an input of a problem
+			}
+		}
+
+		boolean everything() {
+			return classes.contains("*");
+		}
+
+		boolean affect(ProblemId problemId, Method method, Set<String> declaringClasses) {
+			if (everything() || !declaringClasses.containsAll(classes)) {
+				return true;
+			}
+			return classes.contains(getTopLevelClassName(method.getDeclaringClass().getName()))
+					|| days.contains(problemId.year() + "/" + problemId.day())
+					|| yearlessDays.contains(problemId.day());
+		}
+	}
+}
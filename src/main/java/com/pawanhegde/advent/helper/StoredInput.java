@@ -0,0 +1,44 @@
+package com.pawanhegde.advent.helper;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The contents of an input file, as kept in memory by the {@link InputStore}.
+ */
+public final class StoredInput {
+	private final ByteBuffer bytes;
+	private final String hash;
+	private volatile String text;
+
+	StoredInput(ByteBuffer bytes, String hash) {
+		this.bytes = bytes.asReadOnlyBuffer();
+		this.hash = hash;
+	}
+
+	/**
+	 * @return a read-only buffer over the contents, which the caller is free to move around in
+	 */
+	public ByteBuffer bytes() {
+		return bytes.duplicate();
+	}
+
+	/**
+	 * @return the SHA-256 of the contents, in hex
+	 */
+	public String hash() {
+		return hash;
+	}
+
+	/**
+	 * @return the contents as text. They are decoded only once, no matter how often this is called.
+	 */
+	public String text() {
+		String decoded = text;
+		if (decoded == null) {
+			decoded = StandardCharsets.UTF_8.decode(bytes()).toString();
+			text = decoded;
+		}
+		return decoded;
+	}
+}
@@ -2,29 +2,33 @@ package com.pawanhegde.advent.helper;
 
 import com.pawanhegde.advent.AocException;
 import com.pawanhegde.advent.Constants;
+import com.pawanhegde.advent.Settings;
 import com.pawanhegde.advent.annotation.AutoSubmit;
+import com.pawanhegde.advent.helper.Instrumentation.Timed;
+import com.pawanhegde.advent.helper.Supervisor.Deadline;
+import com.pawanhegde.advent.model.Attempt;
+import com.pawanhegde.advent.model.Phase;
 import com.pawanhegde.advent.model.ProblemId;
 import com.pawanhegde.advent.model.Submission;
 import com.pawanhegde.advent.model.SubmissionStatus;
-import org.jsoup.Jsoup;
-import org.jsoup.nodes.Document;
 
-import java.io.IOException;
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
+import java.io.InputStream;
 import java.lang.reflect.Method;
-import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
+import java.net.URLEncoder;
 import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.Instant;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Optional;
 
-import static com.pawanhegde.advent.helper.InputHelper.getSample;
+import static com.pawanhegde.advent.helper.InputHelper.getStoredSample;
+import static com.pawanhegde.advent.helper.Instrumentation.measure;
+import static com.pawanhegde.advent.model.Phase.*;
+import static com.pawanhegde.advent.model.SubmissionStatus.RATE_LIMITED;
 import static com.pawanhegde.advent.model.SubmissionStatus.UNKNOWN;
+import static com.pawanhegde.advent.util.Log.debug;
+import static com.pawanhegde.advent.util.Log.error;
 import static com.pawanhegde.advent.util.Log.info;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
@@ -33,97 +37,116 @@ public class SubmissionHelper {
 	private SubmissionHelper() {
 	}
 
+	/**
+	 * Solves the problem, and prints and submits the answers, unless the solution is submitted automatically and has
+	 * already been submitted successfully. The submissions are only looked at for solutions that are submitted
+	 * automatically, so that a run that never submits anything doesn't pay for loading them.
+	 */
 	public static void attempt(ProblemId problemId, Method method) {
-		if (CacheManager.isSubmittedSuccessfully(problemId)) {
+		if (isAutoSubmit(method) && CacheManager.isSubmittedSuccessfully(problemId)) {
 			info(problemId + " has already been submitted. Skipping...");
 			return;
 		}
-		attemptOnSampleInput(problemId, method);
-		attemptOnActualInput(problemId, method);
+		try {
+			report(solve(problemId, method), method);
+		} catch (AocException e) {
+			// One bad solution shouldn't keep the rest from running
+			error(problemId + " failed: " + e.getMessage() + (e.getCause() == null ? "" : " (" + e.getCause() + ")"));
+		}
 	}
 
-	private static void attemptOnSampleInput(ProblemId problemId, Method method) {
-		getSample(problemId).map(s -> runMethod(method, s))
-				.ifPresent(output -> info(problemId + " (on sample input): " + output));
-	}
+	/**
+	 * Runs the solution on the sample input, if there is one, and on the actual input. Nothing is printed or submitted,
+	 * which makes it safe to call from several threads at once.
+	 * If neither the solution nor an input has changed since the last run, the answer from that run is used instead,
+	 * unless {@link Settings#rerun()} says otherwise.
+	 */
+	public static Attempt solve(ProblemId problemId, Method method) {
+		return solve(problemId, method, Settings.rerun(), Settings.timeout());
+	}
+
+	/**
+	 * Same as {@link #solve(ProblemId, Method)}, but decides for itself whether to ignore the answers of earlier runs,
+	 * and how long the sample run and the actual run may take together.
+	 */
+	static Attempt solve(ProblemId problemId, Method method, boolean rerun, Duration timeout) {
+		Deadline deadline = Deadline.after(timeout);
+		Optional<StoredInput> sample = measure(problemId, INPUT, () -> getStoredSample(problemId));
+		Optional<Run> sampleRun = sample.map(s -> run(problemId, SAMPLE_RUN, method, s, rerun, deadline));
+		StoredInput input = measure(problemId, INPUT, () -> InputHelper.getStoredInput(problemId));
+		Run actualRun = run(problemId, ACTUAL_RUN, method, input, rerun, deadline);
+		boolean cached = actualRun.cached() && sampleRun.map(Run::cached).orElse(true);
+		return new Attempt(problemId, sampleRun.map(Run::answer).orElse(null), actualRun.answer(), cached);
+	}
+
+	/**
+	 * Prints the answers of an attempt and submits the answer to the actual input if the solution asks for it.
+	 */
+	public static void report(Attempt attempt, Method method) {
+		ProblemId problemId = attempt.problemId();
+		if (attempt.sampleAnswer() != null) {
+			info(problemId + " (on sample input): " + attempt.sampleAnswer());
+		}
 
-	private static void attemptOnActualInput(ProblemId problemId, Method method) {
-		String input = InputHelper.getInput(problemId);
-		String answer = runMethod(method, input);
-		info(problemId + ": " + answer);
+		String answer = attempt.answer();
+		info(problemId + ": " + answer + (attempt.cached() ? " (unchanged since the last run)" : ""));
 
 		if (isAutoSubmit(method)) {
 			SubmissionStatus status = CacheManager.judgeBasedOnPreviousSubmissions(problemId, answer);
 			if (UNKNOWN == status) {
-				Submission submission = submit(problemId, answer);
-				info(String.valueOf(submission));
+				SubmissionQueue.submit(problemId, answer).whenComplete((submission, e) -> {
+					if (e == null) {
+						info(String.valueOf(submission));
+					} else {
+						error(problemId + ": could not submit " + answer + ": " + e);
+					}
+				});
 			} else {
 				info(problemId + "(based on cache of old attempts): " + status);
 			}
 		}
+		debug(() -> RunReport.summarize(problemId));
 	}
 
-	private static String runMethod(Method method, String input) {
-		try {
-			Class<?> aClass = method.getDeclaringClass();
-			Constructor<?> constructor = aClass.getDeclaredConstructor();
-			Object instance = constructor.newInstance();
-			return String.valueOf(method.invoke(instance, method, input));
-		} catch (IllegalAccessException | InvocationTargetException | NoSuchMethodException |
-				 InstantiationException e) {
-			String className = method.getDeclaringClass().getName();
-			String methodName = method.getName();
-			String methodFullName = className + "#" + methodName;
-			throw new AocException("Failed to run " + methodFullName + ". Ensure that " + className + " has a default " +
-					"constructor and " + methodName + " only accepts one of the following as the input: String, " +
-					"List<String>, int[][], String[][]", e);
+	private static Run run(ProblemId problemId, Phase phase, Method method, StoredInput input, boolean rerun,
+						   Deadline deadline) {
+		Optional<String> key = ResultCache.keyFor(method, input.hash());
+		if (key.isPresent() && !rerun) {
+			Optional<ResultCache.Result> cached = ResultCache.get(key.get());
+			if (cached.isPresent()) {
+				RunReport.record(problemId, phase, cached.get().measurement());
+				return new Run(cached.get().answer(), true);
+			}
 		}
+
+		Timed<String> timed = Supervisor.run(problemId, phase, method, input, deadline);
+		key.ifPresent(k -> ResultCache.put(k, timed.value(), timed.measurement()));
+		return new Run(timed.value(), false);
 	}
 
-	private static boolean isAutoSubmit(Method method) {
+	static boolean isAutoSubmit(Method method) {
 		return method.isAnnotationPresent(AutoSubmit.class) && method.getAnnotation(AutoSubmit.class).value();
 	}
 
 	static Submission submit(ProblemId problemId, String answer) {
-		HttpRequest request = createRequest(problemId, answer);
-		HttpResponse<String> response = sendRequest(request);
-		return createSubmission(problemId, answer, response);
-	}
-
-	private static HttpRequest createRequest(ProblemId problemId, String answer) {
-		String url = "https://adventofcode.com/" + problemId.year() + "/day/" + problemId.day() + "/answer";
-		String token = TokenHelper.fetchToken();
-
-		return HttpRequest.newBuilder()
-				.uri(URI.create(url))
-				.setHeader("Cookie", "session=" + token)
-				.setHeader("Content-Type", "application/x-www-form-urlencoded")
-				.POST(HttpRequest.BodyPublishers.ofString("level=" + problemId.part() + "&answer=" + answer))
-				.build();
-	}
-
-	private static HttpResponse<String> sendRequest(HttpRequest request) {
-		try {
-			return HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofString());
-		} catch (IOException | InterruptedException e) {
-			throw new AocException("Could not get a response from the server", e);
-		}
+		String path = problemId.year() + "/day/" + problemId.day() + "/answer";
+		String form = "level=" + problemId.part() + "&answer=" + URLEncoder.encode(answer, StandardCharsets.UTF_8);
+		String message = measure(problemId, NETWORK, () -> getMessage(AocClient.shared().postStream(path, form)));
+		return createSubmission(problemId, answer, message);
 	}
 
-	private static Submission createSubmission(ProblemId problemId, String answer, HttpResponse<String> response) {
-		String message = getMessage(response.body());
+	private static Submission createSubmission(ProblemId problemId, String answer, String message) {
 		Submission submission = new Submission(problemId, answer, Instant.now().toEpochMilli(), message);
 		if (UNKNOWN.equals(submission.status())) {
 			submission = tryToDecipherTheResponse(submission);
-		} else {
+		} else if (!RATE_LIMITED.equals(submission.status())) {
 			CacheManager.cache(singletonList(submission));
 		}
 		return submission;
 	}
 
-	static String getMessage(String responseBody) {
-		Document document = Jsoup.parse(responseBody);
-		return document.selectXpath("//article/p").text();
+	private static String getMessage(HttpResponse<InputStream> response) {
+		return ResponseParser.readMessage(response.body());
 	}
 
 	private static Submission tryToDecipherTheResponse(Submission submission) {
@@ -136,17 +159,23 @@ public class SubmissionHelper {
 		List<Submission> submissions = tryToGetCorrectAnswersFromTheProblemPage(problemId);
 		CacheManager.cache(submissions);
 		SubmissionStatus submissionStatus = CacheManager.judgeBasedOnPreviousSubmissions(problemId, answer);
-		String fakedMessage = createFakedMessage(submissionStatus);
-		return new Submission(problemId, answer, Instant.now().toEpochMilli(), fakedMessage);
+		return createJudgedSubmission(problemId, answer, submissionStatus);
+	}
+
+	/**
+	 * @return a submission that says what the previous submissions already tell about the answer, without asking the
+	 * server
+	 */
+	static Submission createJudgedSubmission(ProblemId problemId, String answer, SubmissionStatus status) {
+		return new Submission(problemId, answer, Instant.now().toEpochMilli(), createFakedMessage(status));
 	}
 
 	private static List<Submission> tryToGetCorrectAnswersFromTheProblemPage(ProblemId problemId) {
-		String problemText = getProblemText(problemId);
-		List<String> correctAnswers = getCorrectAnswers(problemText);
+		List<String> correctAnswers = measure(problemId, NETWORK, () -> ProblemPages.getCorrectAnswers(problemId));
 		return createSubmissions(problemId, correctAnswers);
 	}
 
-	private static List<Submission> createSubmissions(ProblemId problemId, List<String> correctAnswers) {
+	static List<Submission> createSubmissions(ProblemId problemId, List<String> correctAnswers) {
 		long currentTimeEpochMilli = Instant.now().toEpochMilli();
 		ProblemId partOne = new ProblemId(problemId.year(), problemId.day(), 1);
 		ProblemId partTwo = new ProblemId(problemId.year(), problemId.day(), 2);
@@ -171,33 +200,6 @@ public class SubmissionHelper {
 		};
 	}
 
-	private static String getProblemText(ProblemId problemId) {
-		String url = "https://adventofcode.com/" + problemId.year() + "/day/" + problemId.day();
-		String token = TokenHelper.fetchToken();
-
-		HttpRequest request = HttpRequest.newBuilder()
-				.uri(URI.create(url))
-				.setHeader("Cookie", "session=" + token)
-				.build();
-
-		try {
-			HttpResponse<String> response = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofString());
-			return response.body();
-		} catch (IOException | InterruptedException e) {
-			throw new AocException("Could not get a response from the server", e);
-		}
-	}
-
-	private static List<String> getCorrectAnswers(String problemText) {
-		String regex = "<p>Your puzzle answer was <code>(.+)</code>.</p>";
-		Pattern pattern = Pattern.compile(regex);
-		Matcher matcher = pattern.matcher(problemText);
-
-		List<String> correctAnswers = new ArrayList<>();
-		while (matcher.find()) {
-			String answer = matcher.group(1);
-			correctAnswers.add(answer);
-		}
-		return correctAnswers;
+	private record Run(String answer, boolean cached) {
 	}
 }
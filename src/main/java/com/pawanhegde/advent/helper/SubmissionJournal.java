@@ -0,0 +1,244 @@
+package com.pawanhegde.advent.helper;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pawanhegde.advent.AocException;
+import com.pawanhegde.advent.Settings;
+import com.pawanhegde.advent.model.ProblemId;
+import com.pawanhegde.advent.model.Submission;
+import com.pawanhegde.advent.model.SubmissionStatus;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.pawanhegde.advent.util.Log.warn;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Stores submissions on disk as append-only journals, one for each problem, with one submission as JSON per line.
+ * <p>
+ * Every submission is flushed to disk as soon as it is made, so none are lost if the process dies. Since the journals
+ * are split up by problem, only the journal of a problem that is actually looked at is ever read, and the cost of
+ * starting up does not grow with the number of submissions made over the years.
+ * <p>
+ * The same answer can end up in a journal more than once with the same verdict, for example when the correct answers
+ * are scraped from the problem page again. A journal is compacted when it is read, if enough of it is made up of such
+ * duplicates. A process that is killed while appending can leave half a line at the end of a journal, which is
+ * dropped the next time the journal is read.
+ * <p>
+ * Several processes may share the journals. Every read and write holds a lock on a file next to the journals, so
+ * that a compaction never drops the submissions that another process is appending.
+ */
+class SubmissionJournal {
+	private static final Path CACHE_FOLDER = Settings.cacheFolder();
+	private static final Path JOURNAL_FOLDER = CACHE_FOLDER.resolve("journal");
+	private static final Path LOCK_FILE = JOURNAL_FOLDER.resolve(".lock");
+	private static final Path LEGACY_CACHE_FILE = CACHE_FOLDER.resolve("cache.json");
+	private static final int COMPACTION_THRESHOLD = 16;
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+
+	static {
+		initialize();
+	}
+
+	private SubmissionJournal() {
+	}
+
+	/**
+	 * @return all the submissions that were ever made for the problem, oldest first
+	 */
+	static List<Submission> read(ProblemId problemId) {
+		Path journal = pathTo(problemId);
+		try {
+			return FileLocks.withLock(LOCK_FILE, () -> {
+				if (Files.notExists(journal)) {
+					return new ArrayList<>();
+				}
+				return compactIfNeeded(journal, readJournal(journal));
+			});
+		} catch (IOException e) {
+			throw new AocException("Could not read the submissions for " + problemId, e);
+		}
+	}
+
+	/**
+	 * @return something that changes whenever the journal of the problem changes, including when another process
+	 * changes it
+	 */
+	static String version(ProblemId problemId) {
+		Path journal = pathTo(problemId);
+		try {
+			return Files.size(journal) + ":" + Files.getLastModifiedTime(journal).toMillis();
+		} catch (IOException e) {
+			return "";
+		}
+	}
+
+	/**
+	 * Adds the submissions to the journals of their problems, and waits until they are safely on disk.
+	 */
+	static void append(List<Submission> submissions) {
+		Map<ProblemId, List<Submission>> byProblem = submissions.stream()
+				.collect(groupingBy(Submission::problemId, LinkedHashMap::new, toList()));
+		try {
+			FileLocks.withLock(LOCK_FILE, () -> {
+				for (Map.Entry<ProblemId, List<Submission>> entry : byProblem.entrySet()) {
+					appendToJournal(entry.getKey(), entry.getValue());
+				}
+				return null;
+			});
+		} catch (IOException e) {
+			throw new AocException("Could not store the submissions", e);
+		}
+	}
+
+	private static void appendToJournal(ProblemId problemId, List<Submission> submissions) {
+		StringBuilder lines = new StringBuilder();
+		try {
+			for (Submission submission : submissions) {
+				lines.append(MAPPER.writeValueAsString(submission)).append('\n');
+			}
+			try (FileChannel channel = FileChannel.open(pathTo(problemId), StandardOpenOption.CREATE,
+					StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+				// Ends the last line first, if it wasn't. Half a line is then dropped the next time the journal is
+				// read, and a whole one is kept.
+				if (!endsWithNewline(channel)) {
+					lines.insert(0, '\n');
+				}
+				channel.position(channel.size());
+				ByteBuffer bytes = StandardCharsets.UTF_8.encode(lines.toString());
+				while (bytes.hasRemaining()) {
+					channel.write(bytes);
+				}
+				channel.force(true);
+			}
+		} catch (IOException e) {
+			throw new AocException("Could not store the submissions for " + problemId, e);
+		}
+	}
+
+	/**
+	 * Reads the submissions in the journal. Must be called while holding the lock.
+	 *
+	 * @throws AocException if a line other than the last one can't be read
+	 */
+	private static List<Submission> readJournal(Path journal) throws IOException {
+		byte[] bytes = Files.readAllBytes(journal);
+		List<Submission> submissions = new ArrayList<>();
+		int lineNumber = 0;
+		for (int start = 0, end; start < bytes.length; start = end + 1) {
+			end = indexOf(bytes, (byte) '\n', start);
+			lineNumber++;
+			String line = new String(bytes, start, end - start, StandardCharsets.UTF_8);
+			if (line.isBlank()) {
+				continue;
+			}
+			try {
+				submissions.add(MAPPER.readValue(line, Submission.class));
+			} catch (JsonProcessingException e) {
+				if (!new String(bytes, end, bytes.length - end, StandardCharsets.UTF_8).isBlank()) {
+					throw new AocException("Line " + lineNumber + " of " + journal + " is corrupted. Please fix " +
+							"or remove it.", e);
+				}
+				// A process died halfway through appending it. Whatever it was appending is lost anyway.
+				warn("Dropping the unfinished last line of " + journal);
+				try (FileChannel channel = FileChannel.open(journal, StandardOpenOption.WRITE)) {
+					channel.truncate(start);
+					channel.force(true);
+				}
+			}
+		}
+		return submissions;
+	}
+
+	private static boolean endsWithNewline(FileChannel channel) throws IOException {
+		if (channel.size() == 0) {
+			return true;
+		}
+		ByteBuffer lastByte = ByteBuffer.allocate(1);
+		channel.read(lastByte, channel.size() - 1);
+		return lastByte.get(0) == '\n';
+	}
+
+	private static int indexOf(byte[] bytes, byte b, int from) {
+		for (int i = from; i < bytes.length; i++) {
+			if (bytes[i] == b) {
+				return i;
+			}
+		}
+		return bytes.length;
+	}
+
+	private static List<Submission> compactIfNeeded(Path journal, List<Submission> submissions) throws IOException {
+		if (submissions.size() < COMPACTION_THRESHOLD) {
+			return submissions;
+		}
+		// The same verdict on the same answer is a duplicate, even if it was recorded again later
+		Map<Verdict, Submission> unique = new LinkedHashMap<>();
+		for (Submission submission : submissions) {
+			unique.merge(new Verdict(submission.answer(), submission.status()), submission,
+					(kept, duplicate) -> duplicate.epochMilli() < kept.epochMilli() ? duplicate : kept);
+		}
+		if (unique.size() * 2 > submissions.size()) {
+			return submissions;
+		}
+
+		StringBuilder lines = new StringBuilder();
+		for (Submission submission : unique.values()) {
+			lines.append(MAPPER.writeValueAsString(submission)).append('\n');
+		}
+		Path temporaryFile = Files.createTempFile(JOURNAL_FOLDER, journal.getFileName().toString(), ".part");
+		Files.writeString(temporaryFile, lines);
+		Files.move(temporaryFile, journal, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		return new ArrayList<>(unique.values());
+	}
+
+	private static Path pathTo(ProblemId problemId) {
+		return JOURNAL_FOLDER.resolve(problemId.year() + "-" + problemId.day() + "-" + problemId.part() + ".jsonl");
+	}
+
+	private static void initialize() {
+		try {
+			Files.createDirectories(JOURNAL_FOLDER);
+			FileLocks.withLock(LOCK_FILE, () -> {
+				migrateLegacyCache();
+				return null;
+			});
+		} catch (IOException e) {
+			throw new AocException("Could not initialize the cache", e);
+		}
+	}
+
+	/**
+	 * The cache used to be a single JSON file that was rewritten when the process exited. Its submissions are moved
+	 * into the journals once, after which the file is set aside.
+	 */
+	private static void migrateLegacyCache() throws IOException {
+		if (Files.notExists(LEGACY_CACHE_FILE)) {
+			return;
+		}
+
+		String jsonContent = Files.readString(LEGACY_CACHE_FILE);
+		if (!jsonContent.isBlank()) {
+			List<Submission> submissions = MAPPER.readValue(jsonContent, new TypeReference<>() {
+			});
+			append(submissions);
+		}
+		Files.move(LEGACY_CACHE_FILE, CACHE_FOLDER.resolve("cache.json.migrated"), StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	private record Verdict(String answer, SubmissionStatus status) {
+	}
+}
@@ -0,0 +1,100 @@
+package com.pawanhegde.advent.helper;
+
+import com.pawanhegde.advent.model.ProblemId;
+import com.pawanhegde.advent.model.Submission;
+import com.pawanhegde.advent.model.SubmissionStatus;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static com.pawanhegde.advent.model.SubmissionStatus.RATE_LIMITED;
+import static com.pawanhegde.advent.model.SubmissionStatus.UNKNOWN;
+import static com.pawanhegde.advent.util.Log.warn;
+
+/**
+ * Submits answers in the background, one at a time, so that the solutions don't have to wait for adventofcode.com.
+ * <p>
+ * When the server says that the previous answer was given too recently, the answer is submitted again once the wait
+ * time in the response is over. Submitting the same answer to a problem that is already queued doesn't submit it
+ * again, but returns the submission that is already on its way. Before an answer is actually sent, it is judged
+ * against the submissions so far once more, since an answer that was queued earlier might have settled it.
+ */
+public class SubmissionQueue {
+	private static final Pattern WAIT_TIME = Pattern.compile("You have (?:(\\d+)m )?(\\d+)s left to wait");
+	// Used if the wait time can't be found in the response, which is about as long as the server makes you wait
+	private static final Duration DEFAULT_WAIT_TIME = Duration.ofMinutes(1);
+	// The server's clock and ours are not quite in sync, so retrying right on time could be too early
+	private static final Duration MARGIN = Duration.ofSeconds(1);
+	private static final Map<PendingAnswer, CompletableFuture<Submission>> PENDING = new ConcurrentHashMap<>();
+	private static final ScheduledExecutorService EXECUTOR = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "aoc-submissions");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	private SubmissionQueue() {
+	}
+
+	/**
+	 * Queues the answer to be submitted.
+	 *
+	 * @return the submission, once the server has said what it thinks about the answer
+	 */
+	static CompletableFuture<Submission> submit(ProblemId problemId, String answer) {
+		return PENDING.computeIfAbsent(new PendingAnswer(problemId, answer), pendingAnswer -> {
+			CompletableFuture<Submission> submission = new CompletableFuture<>();
+			EXECUTOR.execute(() -> send(pendingAnswer, submission));
+			return submission;
+		});
+	}
+
+	/**
+	 * Blocks until every answer that has been queued so far has been submitted, or has failed to be.
+	 */
+	public static void awaitPending() {
+		CompletableFuture.allOf(PENDING.values().toArray(new CompletableFuture<?>[0]))
+				.exceptionally(e -> null)
+				.join();
+	}
+
+	private static void send(PendingAnswer pendingAnswer, CompletableFuture<Submission> submission) {
+		ProblemId problemId = pendingAnswer.problemId();
+		String answer = pendingAnswer.answer();
+		try {
+			SubmissionStatus status = CacheManager.judgeBasedOnPreviousSubmissions(problemId, answer);
+			Submission result = UNKNOWN == status ? SubmissionHelper.submit(problemId, answer)
+					: SubmissionHelper.createJudgedSubmission(problemId, answer, status);
+
+			if (RATE_LIMITED == result.status()) {
+				Duration waitTime = getWaitTime(result.response()).plus(MARGIN);
+				warn(problemId + ": submitted too soon after the previous answer. Trying again in " + waitTime + "...");
+				EXECUTOR.schedule(() -> send(pendingAnswer, submission), waitTime.toMillis(), TimeUnit.MILLISECONDS);
+				return;
+			}
+			submission.complete(result);
+		} catch (RuntimeException e) {
+			submission.completeExceptionally(e);
+		}
+		// Only forgotten once it is complete, so that awaitPending can't miss it
+		PENDING.remove(pendingAnswer);
+	}
+
+	static Duration getWaitTime(String response) {
+		Matcher matcher = WAIT_TIME.matcher(response);
+		if (!matcher.find()) {
+			return DEFAULT_WAIT_TIME;
+		}
+		long minutes = matcher.group(1) == null ? 0 : Long.parseLong(matcher.group(1));
+		return Duration.ofMinutes(minutes).plusSeconds(Long.parseLong(matcher.group(2)));
+	}
+
+	private record PendingAnswer(ProblemId problemId, String answer) {
+	}
+}
@@ -0,0 +1,193 @@
+package com.pawanhegde.advent.helper;
+
+import com.pawanhegde.advent.AocException;
+import com.pawanhegde.advent.Settings;
+import com.pawanhegde.advent.helper.Instrumentation.Timed;
+import com.pawanhegde.advent.model.Phase;
+import com.pawanhegde.advent.model.ProblemId;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static com.pawanhegde.advent.helper.Instrumentation.timed;
+import static com.pawanhegde.advent.util.Log.warn;
+
+/**
+ * Runs a solution on a thread of its own and keeps an eye on it, so that a solution that runs for too long, or
+ * allocates too much, fails on its own instead of taking the whole run down with it.
+ * <p>
+ * A solution that goes past the {@link Deadline} of its attempt, or over {@link Settings#memoryBudget()}, is
+ * interrupted. The sample run and the actual run of an attempt share one deadline. Since Java can only ask a thread to
+ * stop, a solution that doesn't check for interrupts keeps its thread busy until the JVM exits, although the run moves
+ * on without it. Only the allocations of the solution's own thread count towards the
+ * budget. With {@link Settings#isolate()}, every run happens in a JVM of its own instead, which is killed outright
+ * when it goes over time, and whose heap can be capped with {@link Settings#isolatedMaxHeap()}.
+ */
+class Supervisor {
+	private static final long POLL_INTERVAL_MILLIS = 20;
+	// How long an interrupted solution gets to stop before the run moves on without it
+	private static final Duration GRACE_PERIOD = Duration.ofSeconds(1);
+	// The exit code of a JVM that was started with -XX:+ExitOnOutOfMemoryError, when it runs out of memory
+	private static final int OUT_OF_MEMORY_EXIT_CODE = 3;
+
+	private Supervisor() {
+	}
+
+	/**
+	 * Runs the solution on the input, and measures the run.
+	 *
+	 * @param deadline when the attempt that the run is a part of has to be done by
+	 * @return the answer of the solution, along with the measurement of the run
+	 * @throws AocException if the solution failed, or was stopped
+	 */
+	static Timed<String> run(ProblemId problemId, Phase phase, Method method, StoredInput input, Deadline deadline) {
+		if (deadline.isPassed()) {
+			throw new AocException(problemId + " " + phase + " did not start within " + deadline.timeout());
+		}
+		if (Settings.isolate()) {
+			return runInChildJvm(problemId, phase, method, deadline);
+		}
+		return runOnThread(problemId, phase, method, input, deadline);
+	}
+
+	private static Timed<String> runOnThread(ProblemId problemId, Phase phase, Method method, StoredInput input,
+											 Deadline deadline) {
+		CompletableFuture<Timed<String>> result = new CompletableFuture<>();
+		Thread worker = new Thread(() -> {
+			try {
+				result.complete(timed(problemId, phase, () -> String.valueOf(
+						SolutionInvoker.invoke(method, InputAdapters.adapt(method, input)))));
+			} catch (Throwable e) {
+				result.completeExceptionally(e);
+			}
+		}, "aoc-solution-" + problemId.year() + "-" + problemId.day() + "-" + problemId.part());
+		worker.setDaemon(true);
+
+		OptionalLong budget = Settings.memoryBudget();
+		worker.start();
+		while (true) {
+			try {
+				return result.get(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+			} catch (TimeoutException e) {
+				if (deadline.isPassed()) {
+					throw stop(worker, result, problemId + " " + phase + " did not finish within " +
+							deadline.timeout());
+				}
+				long allocated = Instrumentation.allocatedBytes(worker);
+				if (budget.isPresent() && allocated > budget.getAsLong()) {
+					throw stop(worker, result, problemId + " " + phase + " allocated " + allocated +
+							" bytes, which is more than its budget of " + budget.getAsLong());
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw stop(worker, result, problemId + " " + phase + " was cancelled");
+			} catch (ExecutionException e) {
+				if (e.getCause() instanceof OutOfMemoryError) {
+					throw new AocException(problemId + " " + phase + " ran out of memory", e.getCause());
+				}
+				throw e.getCause() instanceof AocException aocException ? aocException
+						: new AocException(problemId + " " + phase + " failed", e.getCause());
+			}
+		}
+	}
+
+	private static AocException stop(Thread worker, CompletableFuture<?> result, String reason) {
+		worker.interrupt();
+		try {
+			result.get(GRACE_PERIOD.toMillis(), TimeUnit.MILLISECONDS);
+		} catch (TimeoutException e) {
+			warn(worker.getName() + " ignored the interrupt, so it is left running in the background");
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			// It stopped, which is all that matters now
+		}
+		return new AocException(reason);
+	}
+
+	private static Timed<String> runInChildJvm(ProblemId problemId, Phase phase, Method method, Deadline deadline) {
+		Path resultFile = null;
+		Process process = null;
+		try {
+			resultFile = Files.createTempFile("aoc-result", ".txt");
+			List<String> command = new ArrayList<>();
+			command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+			Settings.isolatedMaxHeap().ifPresent(maxHeap -> command.add("-Xmx" + maxHeap));
+			command.add("-XX:+ExitOnOutOfMemoryError");
+			// The child has to find its files where this process does
+			System.getProperties().stringPropertyNames().stream()
+					.filter(name -> name.startsWith("aoc."))
+					.forEach(name -> command.add("-D" + name + "=" + System.getProperty(name)));
+			command.addAll(List.of("-cp", System.getProperty("java.class.path"), IsolatedRun.class.getName(),
+					method.getDeclaringClass().getName(), String.valueOf(problemId.year()),
+					String.valueOf(problemId.day()), String.valueOf(problemId.part()), phase.name(),
+					resultFile.toString()));
+
+			process = new ProcessBuilder(command).inheritIO().start();
+			if (!process.waitFor(deadline.remainingNanos(), TimeUnit.NANOSECONDS)) {
+				throw new AocException(problemId + " " + phase + " did not finish within " + deadline.timeout());
+			}
+			if (process.exitValue() == OUT_OF_MEMORY_EXIT_CODE) {
+				throw new AocException(problemId + " " + phase + " ran out of memory" +
+						Settings.isolatedMaxHeap().map(maxHeap -> " (-Xmx" + maxHeap + ")").orElse(""));
+			}
+			if (process.exitValue() != 0) {
+				throw new AocException(problemId + " " + phase + " failed in its JVM with exit code " +
+						process.exitValue());
+			}
+
+			Timed<String> timed = IsolatedRun.readResult(Files.readString(resultFile, StandardCharsets.UTF_8));
+			RunReport.record(problemId, phase, timed.measurement());
+			return timed;
+		} catch (IOException e) {
+			throw new AocException("Could not run " + problemId + " " + phase + " in a JVM of its own", e);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new AocException(problemId + " " + phase + " was cancelled", e);
+		} finally {
+			if (process != null) {
+				process.destroyForcibly();
+			}
+			deleteQuietly(resultFile);
+		}
+	}
+
+	/**
+	 * The point in time by which an attempt has to be done, along with the timeout it was worked out from.
+	 */
+	record Deadline(Duration timeout, long nanoTime) {
+		static Deadline after(Duration timeout) {
+			return new Deadline(timeout, System.nanoTime() + timeout.toNanos());
+		}
+
+		long remainingNanos() {
+			return nanoTime - System.nanoTime();
+		}
+
+		boolean isPassed() {
+			return remainingNanos() <= 0;
+		}
+	}
+
+	private static void deleteQuietly(Path file) {
+		if (file == null) {
+			return;
+		}
+		try {
+			Files.deleteIfExists(file);
+		} catch (IOException e) {
+			// It's only a temporary file
+		}
+	}
+}
@@ -1,10 +1,10 @@
 package com.pawanhegde.advent.helper;
 
 import com.pawanhegde.advent.AocException;
+import com.pawanhegde.advent.Settings;
 
 import java.io.IOException;
 import java.nio.file.Files;
-import java.nio.file.Path;
 
 public class TokenHelper {
 	private TokenHelper() {
@@ -12,7 +12,7 @@ public class TokenHelper {
 
 	public static String fetchToken() {
 		try {
-			return Files.readString(Path.of(System.getProperty("user.home"), "/.config/aocd/token"));
+			return Files.readString(Settings.tokenFile());
 		} catch (IOException e) {
 			throw new AocException("Could not read the token", e);
 		}
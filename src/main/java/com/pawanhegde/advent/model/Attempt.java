@@ -0,0 +1,12 @@
+package com.pawanhegde.advent.model;
+
+/**
+ * The answers a solution produced for a problem.
+ *
+ * @param problemId    the problem that was solved
+ * @param sampleAnswer the answer on the sample input, or null if there is no sample
+ * @param answer       the answer on the actual input
+ * @param cached       true if the answers were remembered from an earlier run instead of running the solution again
+ */
+public record Attempt(ProblemId problemId, String sampleAnswer, String answer, boolean cached) {
+}
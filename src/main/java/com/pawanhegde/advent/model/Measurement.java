@@ -0,0 +1,23 @@
+package com.pawanhegde.advent.model;
+
+/**
+ * The resources used by the current thread while doing something.
+ *
+ * @param wallNanos      the elapsed time
+ * @param cpuNanos       the CPU time used by the thread
+ * @param allocatedBytes the number of bytes allocated on the heap by the thread
+ */
+public record Measurement(long wallNanos, long cpuNanos, long allocatedBytes) {
+	public static final Measurement NONE = new Measurement(0, 0, 0);
+
+	public Measurement plus(Measurement other) {
+		return new Measurement(wallNanos + other.wallNanos, cpuNanos + other.cpuNanos,
+				allocatedBytes + other.allocatedBytes);
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%.3f ms (CPU %.3f ms, %.1f KB allocated)", wallNanos / 1e6, cpuNanos / 1e6,
+				allocatedBytes / 1024.0);
+	}
+}
@@ -0,0 +1,23 @@
+package com.pawanhegde.advent.model;
+
+/**
+ * The parts of an attempt that are measured separately.
+ */
+public enum Phase {
+	/**
+	 * Reading the input and the sample from disk, including downloading the input if it is missing.
+	 */
+	INPUT,
+	/**
+	 * Talking to adventofcode.com, whether to download the input or to submit an answer.
+	 */
+	NETWORK,
+	/**
+	 * Running the solution on the sample input.
+	 */
+	SAMPLE_RUN,
+	/**
+	 * Running the solution on the actual input.
+	 */
+	ACTUAL_RUN
+}
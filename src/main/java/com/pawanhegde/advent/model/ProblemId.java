@@ -1,6 +1,41 @@
 package com.pawanhegde.advent.model;
 
-public record ProblemId(int year, int day, int part) {
+import java.util.Comparator;
+import java.util.Optional;
+
+public record ProblemId(int year, int day, int part) implements Comparable<ProblemId> {
+	private static final Comparator<ProblemId> ORDER = Comparator.comparingInt(ProblemId::year)
+			.thenComparingInt(ProblemId::day)
+			.thenComparingInt(ProblemId::part);
+
+	/**
+	 * Extracts the problem id from a method name. The method name should be of the form adventYYYYDDP where YYYY is
+	 * the year, DD is the day and P is the part.
+	 * For example, advent2020011 is the solution for the first part of the problem on day 1 of 2020, and
+	 * advent2023032 is the solution for the second part of the problem on day 3 of 2023.
+	 *
+	 * @param methodName the method name to extract the problem id from
+	 * @return the problem id if the method name matches the pattern, empty otherwise
+	 */
+	public static Optional<ProblemId> fromMethodName(String methodName) {
+		if (!methodName.startsWith("advent") || methodName.length() < 13) {
+			return Optional.empty();
+		}
+		try {
+			int year = Integer.parseInt(methodName.substring(6, 10));
+			int day = Integer.parseInt(methodName.substring(10, 12));
+			int part = Integer.parseInt(methodName.substring(12, 13));
+			return Optional.of(new ProblemId(year, day, part));
+		} catch (NumberFormatException e) {
+			return Optional.empty();
+		}
+	}
+
+	@Override
+	public int compareTo(ProblemId other) {
+		return ORDER.compare(this, other);
+	}
+
 	@Override
 	public String toString() {
 		return "Problem(" + year + ", " + day + ", Part" + part + ')';
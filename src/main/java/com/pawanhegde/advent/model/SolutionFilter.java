@@ -0,0 +1,46 @@
+package com.pawanhegde.advent.model;
+
+import java.util.function.Predicate;
+
+/**
+ * Selects which solutions to run. Start with {@link #all()} and narrow it down, for example
+ * {@code SolutionFilter.all().year(2023).days(1, 10).part(2)}.
+ *
+ * @param fromYear the first year to run, inclusive
+ * @param toYear   the last year to run, inclusive
+ * @param fromDay  the first day to run, inclusive
+ * @param toDay    the last day to run, inclusive
+ * @param part     the part to run, or 0 to run both
+ */
+public record SolutionFilter(int fromYear, int toYear, int fromDay, int toDay, int part) implements Predicate<ProblemId> {
+	public static SolutionFilter all() {
+		return new SolutionFilter(Integer.MIN_VALUE, Integer.MAX_VALUE, 1, 25, 0);
+	}
+
+	public SolutionFilter year(int year) {
+		return years(year, year);
+	}
+
+	public SolutionFilter years(int from, int to) {
+		return new SolutionFilter(from, to, fromDay, toDay, part);
+	}
+
+	public SolutionFilter day(int day) {
+		return days(day, day);
+	}
+
+	public SolutionFilter days(int from, int to) {
+		return new SolutionFilter(fromYear, toYear, from, to, part);
+	}
+
+	public SolutionFilter part(int part) {
+		return new SolutionFilter(fromYear, toYear, fromDay, toDay, part);
+	}
+
+	@Override
+	public boolean test(ProblemId problemId) {
+		return problemId.year() >= fromYear && problemId.year() <= toYear
+				&& problemId.day() >= fromDay && problemId.day() <= toDay
+				&& (part == 0 || problemId.part() == part);
+	}
+}
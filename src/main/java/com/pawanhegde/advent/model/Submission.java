@@ -7,15 +7,19 @@ public record Submission(ProblemId problemId, String answer, long epochMilli, St
 		if (response.contains(CORRECT)) {
 			return SubmissionStatus.CORRECT;
 		}
-		if (response.contains(INCORRECT)) {
-			return SubmissionStatus.INCORRECT;
-		}
+		// A response that says the answer is too high or too low also says that it is not the right answer
 		if (response.contains(TOO_HIGH)) {
 			return SubmissionStatus.TOO_HIGH;
 		}
 		if (response.contains(TOO_LOW)) {
 			return SubmissionStatus.TOO_LOW;
 		}
+		if (response.contains(INCORRECT)) {
+			return SubmissionStatus.INCORRECT;
+		}
+		if (response.contains(TOO_RECENT)) {
+			return SubmissionStatus.RATE_LIMITED;
+		}
 
 		// You might have already solved it, or you might have submitted an answer for something that isn't open yet.
 		// Or perhaps AOC changed their response format.
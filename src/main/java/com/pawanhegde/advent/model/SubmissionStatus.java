@@ -5,5 +5,9 @@ public enum SubmissionStatus {
 	CORRECT,
 	INCORRECT,
 	TOO_LOW,
-	TOO_HIGH
+	TOO_HIGH,
+	/**
+	 * The answer was not looked at, because the previous one was submitted too recently.
+	 */
+	RATE_LIMITED
 }
@@ -0,0 +1,134 @@
+package com.pawanhegde.advent.processor;
+
+import com.pawanhegde.advent.annotation.AdventOfCode;
+import com.pawanhegde.advent.model.ProblemId;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Writes an index of all the solutions in the sources being compiled to {@value #INDEX_FILE}, so that they can be
+ * found at run-time without going through every method of every class. See {@code SolutionIndex} for how the index is
+ * read.
+ * <p>
+ * To use it with Gradle, add the library as an annotation processor as well:
+ * {@code annotationProcessor("com.pawanhegde:advent-of-code-java:<version>")}
+ * <p>
+ * Each line of the index describes one solution as tab-separated values: the year, day and part, the binary name of
+ * the class, the name of the method and the name of the class of its parameter, as accepted by {@link Class#forName}.
+ */
+@SupportedAnnotationTypes("*")
+public class SolutionIndexProcessor extends AbstractProcessor {
+	public static final String INDEX_FILE = "META-INF/aoc/solutions.idx";
+
+	private final List<String> entries = new ArrayList<>();
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		if (roundEnv.processingOver()) {
+			writeIndex();
+		} else {
+			ElementFilter.typesIn(roundEnv.getRootElements()).forEach(this::indexType);
+		}
+		// Other processors may be interested in the same annotations, so they are never claimed
+		return false;
+	}
+
+	private void indexType(TypeElement type) {
+		ElementFilter.typesIn(type.getEnclosedElements()).forEach(this::indexType);
+		if (type.getKind() != ElementKind.CLASS || type.getModifiers().contains(Modifier.ABSTRACT)) {
+			return;
+		}
+
+		// Solutions are looked up among the public methods of a class, which includes the inherited ones
+		String className = processingEnv.getElementUtils().getBinaryName(type).toString();
+		for (ExecutableElement method : ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(type))) {
+			if (!method.getModifiers().contains(Modifier.PUBLIC) || method.getParameters().size() != 1) {
+				continue;
+			}
+			extractProblemId(method).ifPresent(problemId -> entries.add(String.join("\t",
+					String.valueOf(problemId.year()), String.valueOf(problemId.day()), String.valueOf(problemId.part()),
+					className, method.getSimpleName().toString(), toClassName(method.getParameters().get(0).asType()))));
+		}
+	}
+
+	private static Optional<ProblemId> extractProblemId(ExecutableElement method) {
+		AdventOfCode aoc = method.getAnnotation(AdventOfCode.class);
+		if (aoc != null) {
+			return Optional.of(new ProblemId(aoc.year(), aoc.day(), aoc.part()));
+		}
+		return ProblemId.fromMethodName(method.getSimpleName().toString());
+	}
+
+	private String toClassName(TypeMirror type) {
+		TypeMirror erased = processingEnv.getTypeUtils().erasure(type);
+		return switch (erased.getKind()) {
+			case ARRAY -> "[" + toDescriptor(((ArrayType) erased).getComponentType());
+			case DECLARED -> getBinaryName(erased);
+			default -> erased.toString();
+		};
+	}
+
+	private String toDescriptor(TypeMirror type) {
+		TypeMirror erased = processingEnv.getTypeUtils().erasure(type);
+		return switch (erased.getKind()) {
+			case ARRAY -> "[" + toDescriptor(((ArrayType) erased).getComponentType());
+			case DECLARED -> "L" + getBinaryName(erased) + ";";
+			case BOOLEAN -> "Z";
+			case BYTE -> "B";
+			case CHAR -> "C";
+			case SHORT -> "S";
+			case INT -> "I";
+			case LONG -> "J";
+			case FLOAT -> "F";
+			case DOUBLE -> "D";
+			default -> throw new IllegalArgumentException("Unexpected type " + erased);
+		};
+	}
+
+	private String getBinaryName(TypeMirror type) {
+		Element element = processingEnv.getTypeUtils().asElement(type);
+		return processingEnv.getElementUtils().getBinaryName((TypeElement) element).toString();
+	}
+
+	private void writeIndex() {
+		if (entries.isEmpty()) {
+			return;
+		}
+		try {
+			FileObject index = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", INDEX_FILE);
+			try (Writer writer = index.openWriter()) {
+				for (String entry : entries) {
+					writer.write(entry);
+					writer.write('\n');
+				}
+			}
+		} catch (IOException e) {
+			processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Could not write " + INDEX_FILE + ": " + e);
+		}
+	}
+}
@@ -0,0 +1,361 @@
+package com.pawanhegde.advent.stub;
+
+import com.pawanhegde.advent.Constants;
+import com.pawanhegde.advent.Settings;
+import com.pawanhegde.advent.model.ProblemId;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A stand-in for adventofcode.com that runs in the same JVM, so that downloading inputs, submitting answers and
+ * reading the pages of the days can be tested and benchmarked offline, and give the same results every time.
+ * <p>
+ * It serves the inputs, pages and answer responses of the puzzles it is given, in the same format as the real site,
+ * down to making you wait after a wrong answer. Responses can be slowed down, and a share of them can be made to fail.
+ * To point the library at it, set {@code aoc.url} to its {@link #baseUri()}, and {@code aoc.cache.dir} to a scratch
+ * folder, so that the answers it accepts don't end up among the real ones. Setting {@code aoc.request.interval} to
+ * {@code PT0S} lifts the client's own spacing of requests for load tests.
+ * <pre>{@code
+ * try (AocStubServer server = AocStubServer.start().puzzle(2023, 1, input, "142", "281")) {
+ *     System.setProperty("aoc.url", server.baseUri().toString());
+ *     ...
+ * }
+ * }</pre>
+ */
+public class AocStubServer implements AutoCloseable {
+	private static final Pattern PATH = Pattern.compile("/(\\d+)/day/(\\d+)(/input|/answer)?/?");
+	private static final Duration DEFAULT_WAIT_TIME = Duration.ofMinutes(1);
+
+	private final HttpServer server;
+	private final ExecutorService executor;
+	private final Map<Day, Puzzle> puzzles = new ConcurrentHashMap<>();
+	private final AtomicInteger requestCount = new AtomicInteger();
+	private volatile Duration latency = Duration.ZERO;
+	private volatile Duration waitTime = DEFAULT_WAIT_TIME;
+	private volatile double failureRate;
+	private Random failures = new Random(0);
+
+	private AocStubServer(HttpServer server) {
+		this.server = server;
+		// Slow responses shouldn't hold up the others, just like on the real site
+		this.executor = Executors.newCachedThreadPool(runnable -> {
+			Thread thread = new Thread(runnable, "aoc-stub-server");
+			thread.setDaemon(true);
+			return thread;
+		});
+		server.createContext("/", this::handle);
+		server.setExecutor(executor);
+		server.start();
+	}
+
+	/**
+	 * Starts a server on a free port of the loopback interface.
+	 */
+	public static AocStubServer start() throws IOException {
+		return start(0);
+	}
+
+	/**
+	 * Starts a server on the given port of the loopback interface.
+	 *
+	 * @param port the port to listen on, or 0 for any free one
+	 */
+	public static AocStubServer start(int port) throws IOException {
+		return new AocStubServer(HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0));
+	}
+
+	/**
+	 * @return the address to set {@code aoc.url} to, see {@link Settings#baseUri()}
+	 */
+	public URI baseUri() {
+		return URI.create("http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + "/");
+	}
+
+	/**
+	 * Adds a puzzle, or replaces it along with the parts that have been solved so far.
+	 *
+	 * @param input      the input to serve
+	 * @param answerOne  the correct answer to part 1
+	 * @param answerTwo  the correct answer to part 2, or null for a puzzle that only has one part, like day 25
+	 */
+	public AocStubServer puzzle(int year, int day, String input, String answerOne, String answerTwo) {
+		puzzles.put(new Day(year, day), new Puzzle(input, answerOne, answerTwo));
+		return this;
+	}
+
+	/**
+	 * Marks the part as solved, as if its correct answer had been submitted.
+	 */
+	public AocStubServer solved(ProblemId problemId) {
+		Puzzle puzzle = puzzleOf(problemId.year(), problemId.day());
+		synchronized (puzzle) {
+			puzzle.solvedParts = Math.max(puzzle.solvedParts, problemId.part());
+		}
+		return this;
+	}
+
+	/**
+	 * @param latency how long to wait before answering each request
+	 */
+	public AocStubServer latency(Duration latency) {
+		this.latency = latency;
+		return this;
+	}
+
+	/**
+	 * @param waitTime how long a wrong answer keeps further answers to the same puzzle from being accepted. The
+	 *                 real site starts at a minute.
+	 */
+	public AocStubServer waitTime(Duration waitTime) {
+		this.waitTime = waitTime;
+		return this;
+	}
+
+	/**
+	 * Makes a share of the requests fail with a 500, picked at random, but the same way for the same seed and order of
+	 * requests.
+	 *
+	 * @param failureRate the share of requests that fail, from 0 to 1
+	 * @param seed        the seed of the random choices
+	 */
+	public synchronized AocStubServer failureRate(double failureRate, long seed) {
+		this.failureRate = failureRate;
+		this.failures = new Random(seed);
+		return this;
+	}
+
+	/**
+	 * @return the number of requests that the server has received so far
+	 */
+	public int requestCount() {
+		return requestCount.get();
+	}
+
+	@Override
+	public void close() {
+		server.stop(0);
+		executor.shutdownNow();
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+		try (exchange) {
+			requestCount.incrementAndGet();
+			sleep(latency);
+			if (shouldFail()) {
+				respond(exchange, HttpURLConnection.HTTP_INTERNAL_ERROR, "text/plain", "Internal Server Error");
+				return;
+			}
+
+			Matcher matcher = PATH.matcher(exchange.getRequestURI().getPath());
+			Puzzle puzzle = matcher.matches()
+					? puzzles.get(new Day(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2))))
+					: null;
+			if (puzzle == null) {
+				respond(exchange, HttpURLConnection.HTTP_NOT_FOUND, "text/plain", Constants.NOT_OPEN_YET);
+				return;
+			}
+			String cookie = exchange.getRequestHeaders().getFirst("Cookie");
+			if (cookie == null || !cookie.contains("session=")) {
+				respond(exchange, HttpURLConnection.HTTP_BAD_REQUEST, "text/plain",
+						"Puzzle inputs differ by user.  Please log in to get your puzzle input.");
+				return;
+			}
+
+			int year = Integer.parseInt(matcher.group(1));
+			int day = Integer.parseInt(matcher.group(2));
+			String resource = matcher.group(3) == null ? "" : matcher.group(3);
+			switch (exchange.getRequestMethod() + " " + resource) {
+				case "GET /input" -> respond(exchange, HttpURLConnection.HTTP_OK, "text/plain", puzzle.input);
+				case "GET " -> servePage(exchange, puzzle, year, day);
+				case "POST /answer" -> judge(exchange, puzzle, year, day);
+				default -> respond(exchange, HttpURLConnection.HTTP_BAD_METHOD, "text/plain", "Method Not Allowed");
+			}
+		}
+	}
+
+	private synchronized boolean shouldFail() {
+		return failureRate > 0 && failures.nextDouble() < failureRate;
+	}
+
+	private void servePage(HttpExchange exchange, Puzzle puzzle, int year, int day) throws IOException {
+		StringBuilder page = new StringBuilder("<!DOCTYPE html>\n<html lang=\"en-us\">\n<body>\n<main>\n");
+		page.append("<article class=\"day-desc\"><h2>--- Day ").append(day).append(" ---</h2>\n")
+				.append("<p>The puzzle of ").append(year).append(" day ").append(day).append(".</p>\n</article>\n");
+		synchronized (puzzle) {
+			if (puzzle.solvedParts >= 1) {
+				page.append("<p>Your puzzle answer was <code>").append(escape(puzzle.answers[0]))
+						.append("</code>.</p>");
+				if (puzzle.answers[1] != null) {
+					page.append("<article class=\"day-desc\"><h2 id=\"part2\">--- Part Two ---</h2>\n")
+							.append("<p>The second part.</p>\n</article>\n");
+				}
+			}
+			if (puzzle.solvedParts >= 2) {
+				page.append("<p>Your puzzle answer was <code>").append(escape(puzzle.answers[1])).append("</code>.</p>")
+						.append("<p class=\"day-success\">Both parts of this puzzle are complete! ")
+						.append("They provide two gold stars: **</p>\n");
+			}
+		}
+		page.append("</main>\n</body>\n</html>\n");
+
+		String etag = "\"" + Integer.toHexString(page.toString().hashCode()) + "\"";
+		exchange.getResponseHeaders().set("ETag", etag);
+		if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+			exchange.sendResponseHeaders(HttpURLConnection.HTTP_NOT_MODIFIED, -1);
+			return;
+		}
+		respond(exchange, HttpURLConnection.HTTP_OK, "text/html", page.toString());
+	}
+
+	private void judge(HttpExchange exchange, Puzzle puzzle, int year, int day) throws IOException {
+		Map<String, String> form = parseForm(new String(exchange.getRequestBody().readAllBytes(),
+				StandardCharsets.UTF_8));
+		String returnLink = " <a href=\"/" + year + "/day/" + day + "\">[Return to Day " + day + "]</a>";
+		String message;
+		synchronized (puzzle) {
+			int level = parseLevel(form.get("level"));
+			String answer = form.getOrDefault("answer", "").strip();
+			long now = System.nanoTime();
+			if (level != puzzle.solvedParts + 1 || level > puzzle.parts()) {
+				message = "You don't seem to be solving the right level.  " + Constants.ALREADY_SOLVED + "?" +
+						returnLink;
+			} else if (now < puzzle.lockedUntilNanos) {
+				message = Constants.TOO_RECENT + "; you have to wait after submitting an answer before trying " +
+						"again.  You have " + describe(Duration.ofNanos(puzzle.lockedUntilNanos - now)) +
+						" left to wait." + returnLink;
+			} else if (answer.equals(puzzle.answers[level - 1])) {
+				puzzle.solvedParts = level;
+				message = Constants.CORRECT + "  You are one gold star closer to saving the day." +
+						" <a href=\"/" + year + "/day/" + day + (level == 1 ? "#part2" : "") + "\">[Continue]</a>";
+			} else {
+				puzzle.lockedUntilNanos = now + waitTime.toNanos();
+				message = Constants.INCORRECT + compare(answer, puzzle.answers[level - 1]) + ".  If you're stuck, " +
+						"make sure you're using the full input data.  Please wait " + describe(waitTime) +
+						" before trying again." + returnLink;
+			}
+		}
+		respond(exchange, HttpURLConnection.HTTP_OK, "text/html",
+				"<!DOCTYPE html>\n<html lang=\"en-us\">\n<body>\n<main>\n<article><p>" + message +
+						"</p></article>\n</main>\n</body>\n</html>\n");
+	}
+
+	private static String compare(String answer, String correctAnswer) {
+		try {
+			int comparison = new BigInteger(answer).compareTo(new BigInteger(correctAnswer));
+			return comparison > 0 ? "; " + Constants.TOO_HIGH : "; " + Constants.TOO_LOW;
+		} catch (NumberFormatException e) {
+			return "";
+		}
+	}
+
+	private static int parseLevel(String level) {
+		try {
+			return level == null ? 0 : Integer.parseInt(level);
+		} catch (NumberFormatException e) {
+			return 0;
+		}
+	}
+
+	private static Map<String, String> parseForm(String body) {
+		Map<String, String> form = new HashMap<>();
+		for (String field : body.split("&")) {
+			int separator = field.indexOf('=');
+			if (separator > 0) {
+				form.put(URLDecoder.decode(field.substring(0, separator), StandardCharsets.UTF_8),
+						URLDecoder.decode(field.substring(separator + 1), StandardCharsets.UTF_8));
+			}
+		}
+		return form;
+	}
+
+	/**
+	 * @return the duration the way the site puts it, such as {@code 4m 36s}, rounding the seconds up
+	 */
+	private static String describe(Duration duration) {
+		long seconds = (duration.toMillis() + 999) / 1000;
+		return seconds >= 60 ? seconds / 60 + "m " + seconds % 60 + "s" : seconds + "s";
+	}
+
+	private static String escape(String text) {
+		return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+	}
+
+	private static void respond(HttpExchange exchange, int status, String contentType, String body)
+			throws IOException {
+		byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+		String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+		if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+			ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+			try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+				out.write(bytes);
+			}
+			bytes = compressed.toByteArray();
+			exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+		}
+		exchange.getResponseHeaders().set("Content-Type", contentType + "; charset=utf-8");
+		exchange.sendResponseHeaders(status, bytes.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(bytes);
+		}
+	}
+
+	private static void sleep(Duration duration) {
+		if (duration.isZero()) {
+			return;
+		}
+		try {
+			Thread.sleep(duration.toMillis());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private Puzzle puzzleOf(int year, int day) {
+		Puzzle puzzle = puzzles.get(new Day(year, day));
+		if (puzzle == null) {
+			throw new IllegalArgumentException("There is no puzzle for " + year + " day " + day);
+		}
+		return puzzle;
+	}
+
+	private record Day(int year, int day) {
+	}
+
+	private static class Puzzle {
+		private final String input;
+		private final String[] answers;
+		private int solvedParts;
+		private long lockedUntilNanos = Long.MIN_VALUE;
+
+		Puzzle(String input, String answerOne, String answerTwo) {
+			this.input = input;
+			this.answers = new String[]{answerOne, answerTwo};
+		}
+
+		int parts() {
+			return answers[1] == null ? 1 : 2;
+		}
+	}
+}
@@ -0,0 +1,101 @@
+package com.pawanhegde.advent.util;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A grid of characters, such as a map in a puzzle input, stored in a single array.
+ */
+public final class CharGrid extends Grid {
+	private final char[] cells;
+
+	public CharGrid(int width, int height, char fill) {
+		super(width, height);
+		cells = new char[width * height];
+		Arrays.fill(cells, fill);
+	}
+
+	private CharGrid(int width, int height, char[] cells) {
+		super(width, height);
+		this.cells = cells;
+	}
+
+	/**
+	 * @param lines the rows of the grid, which must all be as long as the first one
+	 */
+	public static CharGrid of(List<String> lines) {
+		int width = lines.isEmpty() ? 0 : lines.get(0).length();
+		char[] cells = new char[width * lines.size()];
+		for (int y = 0; y < lines.size(); y++) {
+			String line = lines.get(y);
+			if (line.length() != width) {
+				throw new IllegalArgumentException("Row " + y + " is " + line.length() + " long instead of " + width);
+			}
+			line.getChars(0, width, cells, y * width);
+		}
+		return new CharGrid(width, lines.size(), cells);
+	}
+
+	/**
+	 * @param rows the rows of the grid, which must all be as long as the first one
+	 */
+	public static CharGrid of(char[][] rows) {
+		int width = rows.length == 0 ? 0 : rows[0].length;
+		char[] cells = new char[width * rows.length];
+		for (int y = 0; y < rows.length; y++) {
+			if (rows[y].length != width) {
+				throw new IllegalArgumentException("Row " + y + " is " + rows[y].length + " long instead of " + width);
+			}
+			System.arraycopy(rows[y], 0, cells, y * width, width);
+		}
+		return new CharGrid(width, rows.length, cells);
+	}
+
+	public char get(int x, int y) {
+		return cells[index(x, y)];
+	}
+
+	public char get(int index) {
+		return cells[index];
+	}
+
+	/**
+	 * @return the character at the coordinates, or the given one if they are outside the grid
+	 */
+	public char getOrDefault(int x, int y, char outside) {
+		return inBounds(x, y) ? cells[index(x, y)] : outside;
+	}
+
+	public void set(int x, int y, char value) {
+		cells[index(x, y)] = value;
+	}
+
+	public void set(int index, char value) {
+		cells[index] = value;
+	}
+
+	/**
+	 * @return the index of the first cell with the character, or -1 if there is none
+	 */
+	public int indexOf(char value) {
+		for (int i = 0; i < cells.length; i++) {
+			if (cells[i] == value) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	public CharGrid copy() {
+		return new CharGrid(width(), height(), cells.clone());
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder grid = new StringBuilder(cells.length + height());
+		for (int y = 0; y < height(); y++) {
+			grid.append(cells, y * width(), width()).append('\n');
+		}
+		return grid.toString();
+	}
+}
@@ -0,0 +1,61 @@
+package com.pawanhegde.advent.util;
+
+/**
+ * Packs coordinates into a single {@code long}, so that they can be used as keys of a {@link LongLongMap} or
+ * {@link LongSet} instead of allocating a point object for each of them.
+ * <p>
+ * Two-dimensional coordinates keep all 32 bits of each coordinate. Three-dimensional ones keep 21 bits each, so
+ * every coordinate must be between -1,048,576 and 1,048,575.
+ */
+public final class Coordinates {
+	private static final long MASK_21 = (1L << 21) - 1;
+
+	private Coordinates() {
+	}
+
+	public static long pack(int x, int y) {
+		return ((long) x << 32) | (y & 0xFFFFFFFFL);
+	}
+
+	public static int x(long packed) {
+		return (int) (packed >> 32);
+	}
+
+	public static int y(long packed) {
+		return (int) packed;
+	}
+
+	/**
+	 * @return the packed coordinates moved by the given amounts
+	 */
+	public static long move(long packed, int dx, int dy) {
+		return pack(x(packed) + dx, y(packed) + dy);
+	}
+
+	public static long pack(int x, int y, int z) {
+		return ((x & MASK_21) << 42) | ((y & MASK_21) << 21) | (z & MASK_21);
+	}
+
+	public static int x3(long packed) {
+		return (int) ((packed << 1) >> 43);
+	}
+
+	public static int y3(long packed) {
+		return (int) ((packed << 22) >> 43);
+	}
+
+	public static int z3(long packed) {
+		return (int) ((packed << 43) >> 43);
+	}
+
+	/**
+	 * @return the packed three-dimensional coordinates moved by the given amounts
+	 */
+	public static long move(long packed, int dx, int dy, int dz) {
+		return pack(x3(packed) + dx, y3(packed) + dy, z3(packed) + dz);
+	}
+
+	public static int manhattanDistance(long from, long to) {
+		return Math.abs(x(from) - x(to)) + Math.abs(y(from) - y(to));
+	}
+}
@@ -0,0 +1,82 @@
+package com.pawanhegde.advent.util;
+
+import java.util.Arrays;
+
+/**
+ * A set of numbers from 0 up to a fixed bound, one bit each. Meant as the visited set of a search over the cells of a
+ * {@link Grid}, where it takes an eighth of the memory of a {@code boolean[]} and far less than a set of points.
+ */
+public final class DenseIntSet {
+	private final long[] words;
+	private final int capacity;
+	private int size;
+
+	/**
+	 * @param capacity one more than the largest number the set can hold
+	 */
+	public DenseIntSet(int capacity) {
+		if (capacity < 0) {
+			throw new IllegalArgumentException("The capacity can't be " + capacity);
+		}
+		this.capacity = capacity;
+		this.words = new long[(capacity + 63) >>> 6];
+	}
+
+	public int capacity() {
+		return capacity;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public boolean contains(int value) {
+		checkIndex(value);
+		return (words[value >>> 6] & (1L << value)) != 0;
+	}
+
+	/**
+	 * @return true if the number wasn't in the set yet
+	 */
+	public boolean add(int value) {
+		checkIndex(value);
+		long word = words[value >>> 6];
+		long bit = 1L << value;
+		if ((word & bit) != 0) {
+			return false;
+		}
+		words[value >>> 6] = word | bit;
+		size++;
+		return true;
+	}
+
+	/**
+	 * @return true if the number was in the set
+	 */
+	public boolean remove(int value) {
+		checkIndex(value);
+		long word = words[value >>> 6];
+		long bit = 1L << value;
+		if ((word & bit) == 0) {
+			return false;
+		}
+		words[value >>> 6] = word & ~bit;
+		size--;
+		return true;
+	}
+
+	public void clear() {
+		Arrays.fill(words, 0);
+		size = 0;
+	}
+
+	private void checkIndex(int value) {
+		if (value < 0 || value >= capacity) {
+			throw new IndexOutOfBoundsException(value + " is outside of [0, " + capacity + ")");
+		}
+	}
+}
@@ -0,0 +1,106 @@
+package com.pawanhegde.advent.util;
+
+/**
+ * The shape of a two-dimensional grid whose cells are stored row after row in a flat array. Cells can be addressed
+ * either by their coordinates or by their index in that array, which is cheaper to pass around, store in a
+ * {@link DenseIntSet} or put in an {@link IntDeque}.
+ * <p>
+ * The neighbours of a cell are written into an array supplied by the caller, so that searches over the grid don't
+ * allocate anything per cell.
+ */
+public abstract class Grid {
+	private static final int[][] DIRECTIONS_WITH_DIAGONALS = {
+			{0, -1}, {1, -1}, {1, 0}, {1, 1}, {0, 1}, {-1, 1}, {-1, 0}, {-1, -1}
+	};
+
+	private final int width;
+	private final int height;
+
+	protected Grid(int width, int height) {
+		if (width < 0 || height < 0) {
+			throw new IllegalArgumentException("The grid can't be " + width + "x" + height);
+		}
+		this.width = width;
+		this.height = height;
+	}
+
+	public int width() {
+		return width;
+	}
+
+	public int height() {
+		return height;
+	}
+
+	/**
+	 * @return the number of cells in the grid
+	 */
+	public int size() {
+		return width * height;
+	}
+
+	public boolean inBounds(int x, int y) {
+		return x >= 0 && x < width && y >= 0 && y < height;
+	}
+
+	public int index(int x, int y) {
+		return y * width + x;
+	}
+
+	public int x(int index) {
+		return index % width;
+	}
+
+	public int y(int index) {
+		return index / width;
+	}
+
+	/**
+	 * Finds the cells above, to the right of, below and to the left of a cell, in that order, leaving out those that
+	 * are outside the grid.
+	 *
+	 * @param index      the index of the cell
+	 * @param neighbours receives the indexes of the neighbours, and must have room for at least 4
+	 * @return the number of neighbours written
+	 */
+	public int neighbours(int index, int[] neighbours) {
+		int x = x(index);
+		int y = y(index);
+		int count = 0;
+		if (y > 0) {
+			neighbours[count++] = index - width;
+		}
+		if (x < width - 1) {
+			neighbours[count++] = index + 1;
+		}
+		if (y < height - 1) {
+			neighbours[count++] = index + width;
+		}
+		if (x > 0) {
+			neighbours[count++] = index - 1;
+		}
+		return count;
+	}
+
+	/**
+	 * Same as {@link #neighbours(int, int[])}, but includes the diagonal neighbours as well, clockwise from the one
+	 * above.
+	 *
+	 * @param index      the index of the cell
+	 * @param neighbours receives the indexes of the neighbours, and must have room for at least 8
+	 * @return the number of neighbours written
+	 */
+	public int neighboursWithDiagonals(int index, int[] neighbours) {
+		int x = x(index);
+		int y = y(index);
+		int count = 0;
+		for (int[] direction : DIRECTIONS_WITH_DIAGONALS) {
+			int neighbourX = x + direction[0];
+			int neighbourY = y + direction[1];
+			if (inBounds(neighbourX, neighbourY)) {
+				neighbours[count++] = index(neighbourX, neighbourY);
+			}
+		}
+		return count;
+	}
+}
@@ -0,0 +1,33 @@
+package com.pawanhegde.advent.util;
+
+/**
+ * What the open-addressing maps and sets of this package have in common.
+ */
+final class HashUtil {
+	private static final int MAX_CAPACITY = 1 << 30;
+
+	private HashUtil() {
+	}
+
+	/**
+	 * Spreads the bits of the key, so that keys that differ only in their high bits, such as packed coordinates, don't
+	 * all end up in the same slots.
+	 */
+	static int hash(long key) {
+		long hash = key * 0x9E3779B97F4A7C15L;
+		return (int) (hash ^ (hash >>> 32));
+	}
+
+	/**
+	 * @return the power of two that keeps a table with the expected number of entries at most half full
+	 */
+	static int capacityFor(int expectedSize, int minCapacity) {
+		if (expectedSize < 0) {
+			throw new IllegalArgumentException("The expected size can't be " + expectedSize);
+		}
+		if (expectedSize > MAX_CAPACITY / 2) {
+			throw new IllegalArgumentException("The expected size " + expectedSize + " is too large");
+		}
+		return Math.max(minCapacity, Integer.highestOneBit(Math.max(1, expectedSize * 2 - 1)) << 1);
+	}
+}
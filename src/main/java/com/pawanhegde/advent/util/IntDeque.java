@@ -0,0 +1,92 @@
+package com.pawanhegde.advent.util;
+
+import java.util.NoSuchElementException;
+
+/**
+ * A double-ended queue of {@code int}s in a ring buffer that grows as needed, without boxing them. Meant as the
+ * frontier of a breadth-first search over the cells of a {@link Grid}, or of a 0-1 BFS, which adds to both ends.
+ */
+public final class IntDeque {
+	private static final int MIN_CAPACITY = 16;
+
+	private int[] elements;
+	private int head;
+	private int size;
+
+	public IntDeque() {
+		this(MIN_CAPACITY);
+	}
+
+	public IntDeque(int initialCapacity) {
+		// A power of two, so that wrapping around is a mask
+		elements = new int[Integer.highestOneBit(Math.max(MIN_CAPACITY, initialCapacity) - 1) << 1];
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public void clear() {
+		head = 0;
+		size = 0;
+	}
+
+	public void addFirst(int element) {
+		growIfFull();
+		head = (head - 1) & (elements.length - 1);
+		elements[head] = element;
+		size++;
+	}
+
+	public void addLast(int element) {
+		growIfFull();
+		elements[(head + size) & (elements.length - 1)] = element;
+		size++;
+	}
+
+	public int pollFirst() {
+		checkNotEmpty();
+		int element = elements[head];
+		head = (head + 1) & (elements.length - 1);
+		size--;
+		return element;
+	}
+
+	public int pollLast() {
+		checkNotEmpty();
+		size--;
+		return elements[(head + size) & (elements.length - 1)];
+	}
+
+	public int peekFirst() {
+		checkNotEmpty();
+		return elements[head];
+	}
+
+	public int peekLast() {
+		checkNotEmpty();
+		return elements[(head + size - 1) & (elements.length - 1)];
+	}
+
+	private void growIfFull() {
+		if (size < elements.length) {
+			return;
+		}
+		int[] grown = new int[elements.length * 2];
+		int firstPart = elements.length - head;
+		System.arraycopy(elements, head, grown, 0, firstPart);
+		System.arraycopy(elements, 0, grown, firstPart, head);
+		elements = grown;
+		head = 0;
+	}
+
+	private void checkNotEmpty() {
+		if (size == 0) {
+			throw new NoSuchElementException("The deque is empty");
+		}
+	}
+}
@@ -0,0 +1,75 @@
+package com.pawanhegde.advent.util;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A grid of numbers, such as heights or distances, stored in a single array.
+ */
+public final class IntGrid extends Grid {
+	private final int[] cells;
+
+	public IntGrid(int width, int height) {
+		super(width, height);
+		cells = new int[width * height];
+	}
+
+	public IntGrid(int width, int height, int fill) {
+		this(width, height);
+		Arrays.fill(cells, fill);
+	}
+
+	private IntGrid(int width, int height, int[] cells) {
+		super(width, height);
+		this.cells = cells;
+	}
+
+	/**
+	 * @param lines rows of single digits, such as {@code 30373}, which must all be as long as the first one
+	 */
+	public static IntGrid ofDigits(List<String> lines) {
+		int width = lines.isEmpty() ? 0 : lines.get(0).length();
+		int[] cells = new int[width * lines.size()];
+		for (int y = 0; y < lines.size(); y++) {
+			String line = lines.get(y);
+			if (line.length() != width) {
+				throw new IllegalArgumentException("Row " + y + " is " + line.length() + " long instead of " + width);
+			}
+			for (int x = 0; x < width; x++) {
+				cells[y * width + x] = line.charAt(x) - '0';
+			}
+		}
+		return new IntGrid(width, lines.size(), cells);
+	}
+
+	public int get(int x, int y) {
+		return cells[index(x, y)];
+	}
+
+	public int get(int index) {
+		return cells[index];
+	}
+
+	/**
+	 * @return the number at the coordinates, or the given one if they are outside the grid
+	 */
+	public int getOrDefault(int x, int y, int outside) {
+		return inBounds(x, y) ? cells[index(x, y)] : outside;
+	}
+
+	public void set(int x, int y, int value) {
+		cells[index(x, y)] = value;
+	}
+
+	public void set(int index, int value) {
+		cells[index] = value;
+	}
+
+	public void fill(int value) {
+		Arrays.fill(cells, value);
+	}
+
+	public IntGrid copy() {
+		return new IntGrid(width(), height(), cells.clone());
+	}
+}
@@ -0,0 +1,114 @@
+package com.pawanhegde.advent.util;
+
+import java.util.Arrays;
+
+/**
+ * A three-dimensional grid of numbers, stored in a single array, layer after layer and row after row. Like a
+ * {@link Grid}, its cells can be addressed by coordinates or by index.
+ */
+public final class IntGrid3 {
+	private final int width;
+	private final int height;
+	private final int depth;
+	private final int[] cells;
+
+	public IntGrid3(int width, int height, int depth) {
+		if (width < 0 || height < 0 || depth < 0) {
+			throw new IllegalArgumentException("The grid can't be " + width + "x" + height + "x" + depth);
+		}
+		this.width = width;
+		this.height = height;
+		this.depth = depth;
+		this.cells = new int[width * height * depth];
+	}
+
+	public int width() {
+		return width;
+	}
+
+	public int height() {
+		return height;
+	}
+
+	public int depth() {
+		return depth;
+	}
+
+	public int size() {
+		return cells.length;
+	}
+
+	public boolean inBounds(int x, int y, int z) {
+		return x >= 0 && x < width && y >= 0 && y < height && z >= 0 && z < depth;
+	}
+
+	public int index(int x, int y, int z) {
+		return (z * height + y) * width + x;
+	}
+
+	public int x(int index) {
+		return index % width;
+	}
+
+	public int y(int index) {
+		return index / width % height;
+	}
+
+	public int z(int index) {
+		return index / (width * height);
+	}
+
+	public int get(int x, int y, int z) {
+		return cells[index(x, y, z)];
+	}
+
+	public int get(int index) {
+		return cells[index];
+	}
+
+	public void set(int x, int y, int z, int value) {
+		cells[index(x, y, z)] = value;
+	}
+
+	public void set(int index, int value) {
+		cells[index] = value;
+	}
+
+	public void fill(int value) {
+		Arrays.fill(cells, value);
+	}
+
+	/**
+	 * Finds the cells that share a face with a cell, leaving out those that are outside the grid.
+	 *
+	 * @param index      the index of the cell
+	 * @param neighbours receives the indexes of the neighbours, and must have room for at least 6
+	 * @return the number of neighbours written
+	 */
+	public int neighbours(int index, int[] neighbours) {
+		int x = x(index);
+		int y = y(index);
+		int z = z(index);
+		int layer = width * height;
+		int count = 0;
+		if (x > 0) {
+			neighbours[count++] = index - 1;
+		}
+		if (x < width - 1) {
+			neighbours[count++] = index + 1;
+		}
+		if (y > 0) {
+			neighbours[count++] = index - width;
+		}
+		if (y < height - 1) {
+			neighbours[count++] = index + width;
+		}
+		if (z > 0) {
+			neighbours[count++] = index - layer;
+		}
+		if (z < depth - 1) {
+			neighbours[count++] = index + layer;
+		}
+		return count;
+	}
+}
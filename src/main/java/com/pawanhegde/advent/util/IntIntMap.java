@@ -0,0 +1,171 @@
+package com.pawanhegde.advent.util;
+
+import java.util.Arrays;
+
+/**
+ * A map from {@code int} to {@code int} that stores its entries in flat arrays, without boxing them. Meant for
+ * things like the distances to the cells of a {@link Grid}, or counts of small numbers.
+ * <p>
+ * Collisions are resolved by probing the next slots, so the table is kept at most half full. Since a key of 0 marks
+ * an empty slot, that key is stored on the side.
+ */
+public final class IntIntMap {
+	private static final int MIN_CAPACITY = 16;
+
+	private int[] keys;
+	private int[] values;
+	private int mask;
+	private int size;
+	private boolean hasZeroKey;
+	private int zeroValue;
+
+	public IntIntMap() {
+		this(MIN_CAPACITY);
+	}
+
+	/**
+	 * @param expectedSize the number of entries the map can hold before it has to grow
+	 */
+	public IntIntMap(int expectedSize) {
+		allocate(HashUtil.capacityFor(expectedSize, MIN_CAPACITY));
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public boolean containsKey(int key) {
+		return key == 0 ? hasZeroKey : keys[slotOf(key)] != 0;
+	}
+
+	/**
+	 * @return the value of the key, or the default value if the key isn't in the map
+	 */
+	public int get(int key, int defaultValue) {
+		if (key == 0) {
+			return hasZeroKey ? zeroValue : defaultValue;
+		}
+		int slot = slotOf(key);
+		return keys[slot] != 0 ? values[slot] : defaultValue;
+	}
+
+	public void put(int key, int value) {
+		if (key == 0) {
+			if (!hasZeroKey) {
+				hasZeroKey = true;
+				size++;
+			}
+			zeroValue = value;
+			return;
+		}
+		int slot = slotOf(key);
+		if (keys[slot] == 0) {
+			keys[slot] = key;
+			size++;
+			values[slot] = value;
+			growIfNeeded();
+		} else {
+			values[slot] = value;
+		}
+	}
+
+	/**
+	 * Adds to the value of the key, treating a missing key as 0.
+	 *
+	 * @return the new value
+	 */
+	public int addTo(int key, int delta) {
+		int value = get(key, 0) + delta;
+		put(key, value);
+		return value;
+	}
+
+	/**
+	 * @return true if the key was in the map
+	 */
+	public boolean remove(int key) {
+		if (key == 0) {
+			if (!hasZeroKey) {
+				return false;
+			}
+			hasZeroKey = false;
+			size--;
+			return true;
+		}
+		int gap = slotOf(key);
+		if (keys[gap] == 0) {
+			return false;
+		}
+		// Moves back the entries after the removed one that would no longer be found past the gap
+		for (int next = (gap + 1) & mask; keys[next] != 0; next = (next + 1) & mask) {
+			int ideal = HashUtil.hash(keys[next]) & mask;
+			if (((next - ideal) & mask) >= ((next - gap) & mask)) {
+				keys[gap] = keys[next];
+				values[gap] = values[next];
+				gap = next;
+			}
+		}
+		keys[gap] = 0;
+		size--;
+		return true;
+	}
+
+	public void clear() {
+		Arrays.fill(keys, 0);
+		hasZeroKey = false;
+		size = 0;
+	}
+
+	public void forEach(Consumer action) {
+		if (hasZeroKey) {
+			action.accept(0, zeroValue);
+		}
+		for (int slot = 0; slot < keys.length; slot++) {
+			if (keys[slot] != 0) {
+				action.accept(keys[slot], values[slot]);
+			}
+		}
+	}
+
+	/**
+	 * @return the slot of the key, or the empty slot where it would go
+	 */
+	private int slotOf(int key) {
+		int slot = HashUtil.hash(key) & mask;
+		while (keys[slot] != 0 && keys[slot] != key) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+
+	private void growIfNeeded() {
+		if (size * 2 <= keys.length) {
+			return;
+		}
+		int[] oldKeys = keys;
+		int[] oldValues = values;
+		allocate(keys.length * 2);
+		for (int slot = 0; slot < oldKeys.length; slot++) {
+			if (oldKeys[slot] != 0) {
+				int newSlot = slotOf(oldKeys[slot]);
+				keys[newSlot] = oldKeys[slot];
+				values[newSlot] = oldValues[slot];
+			}
+		}
+	}
+
+	private void allocate(int capacity) {
+		keys = new int[capacity];
+		values = new int[capacity];
+		mask = capacity - 1;
+	}
+
+	@FunctionalInterface
+	public interface Consumer {
+		void accept(int key, int value);
+	}
+}
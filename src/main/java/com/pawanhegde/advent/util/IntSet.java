@@ -0,0 +1,143 @@
+package com.pawanhegde.advent.util;
+
+import java.util.Arrays;
+
+/**
+ * A set of {@code int}s that stores them in a flat array, without boxing them. Meant for sparse sets of
+ * numbers that are too spread out for a {@link DenseIntSet}.
+ * <p>
+ * Works the same way as {@link IntIntMap}.
+ */
+public final class IntSet {
+	private static final int MIN_CAPACITY = 16;
+
+	private int[] keys;
+	private int mask;
+	private int size;
+	private boolean hasZeroKey;
+
+	public IntSet() {
+		this(MIN_CAPACITY);
+	}
+
+	/**
+	 * @param expectedSize the number of elements the set can hold before it has to grow
+	 */
+	public IntSet(int expectedSize) {
+		allocate(HashUtil.capacityFor(expectedSize, MIN_CAPACITY));
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public boolean contains(int key) {
+		return key == 0 ? hasZeroKey : keys[slotOf(key)] != 0;
+	}
+
+	/**
+	 * @return true if the element wasn't in the set yet
+	 */
+	public boolean add(int key) {
+		if (key == 0) {
+			if (hasZeroKey) {
+				return false;
+			}
+			hasZeroKey = true;
+			size++;
+			return true;
+		}
+		int slot = slotOf(key);
+		if (keys[slot] != 0) {
+			return false;
+		}
+		keys[slot] = key;
+		size++;
+		growIfNeeded();
+		return true;
+	}
+
+	/**
+	 * @return true if the element was in the set
+	 */
+	public boolean remove(int key) {
+		if (key == 0) {
+			if (!hasZeroKey) {
+				return false;
+			}
+			hasZeroKey = false;
+			size--;
+			return true;
+		}
+		int gap = slotOf(key);
+		if (keys[gap] == 0) {
+			return false;
+		}
+		// Moves back the elements after the removed one that would no longer be found past the gap
+		for (int next = (gap + 1) & mask; keys[next] != 0; next = (next + 1) & mask) {
+			int ideal = HashUtil.hash(keys[next]) & mask;
+			if (((next - ideal) & mask) >= ((next - gap) & mask)) {
+				keys[gap] = keys[next];
+				gap = next;
+			}
+		}
+		keys[gap] = 0;
+		size--;
+		return true;
+	}
+
+	public void clear() {
+		Arrays.fill(keys, 0);
+		hasZeroKey = false;
+		size = 0;
+	}
+
+	public void forEach(Consumer action) {
+		if (hasZeroKey) {
+			action.accept(0);
+		}
+		for (int key : keys) {
+			if (key != 0) {
+				action.accept(key);
+			}
+		}
+	}
+
+	/**
+	 * @return the slot of the element, or the empty slot where it would go
+	 */
+	private int slotOf(int key) {
+		int slot = HashUtil.hash(key) & mask;
+		while (keys[slot] != 0 && keys[slot] != key) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+
+	private void growIfNeeded() {
+		if (size * 2 <= keys.length) {
+			return;
+		}
+		int[] oldKeys = keys;
+		allocate(keys.length * 2);
+		for (int key : oldKeys) {
+			if (key != 0) {
+				keys[slotOf(key)] = key;
+			}
+		}
+	}
+
+	private void allocate(int capacity) {
+		keys = new int[capacity];
+		mask = capacity - 1;
+	}
+
+	@FunctionalInterface
+	public interface Consumer {
+		void accept(int key);
+	}
+}
@@ -1,44 +1,261 @@
 package com.pawanhegde.advent.util;
 
+import java.time.Instant;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Prints messages to the standard output without making the callers wait for it. Messages are put in a ring buffer,
+ * and a single background thread writes them out in order, so that printing does not get in the way of the timings
+ * of solutions that run in parallel.
+ * <p>
+ * It is configured with system properties:
+ * <ul>
+ *     <li>{@code aoc.log.level}: the lowest level that is printed, {@code debug} by default</li>
+ *     <li>{@code aoc.log.format}: {@code text} by default, or {@code json} for one JSON object per line</li>
+ *     <li>{@code aoc.log.colour}: {@code auto} by default, which only colours the text on a terminal, or
+ *     {@code always} or {@code never}</li>
+ * </ul>
+ */
 public class Log {
+	private static final Level THRESHOLD = Level.valueOf(property("aoc.log.level", "debug").toUpperCase(Locale.ROOT));
+	private static final boolean JSON = "json".equals(property("aoc.log.format", "text"));
+	private static final boolean COLOUR = switch (property("aoc.log.colour", "auto")) {
+		case "always" -> true;
+		case "never" -> false;
+		default -> System.console() != null;
+	};
+	private static final String RESET = "\u001B[0m";
+	private static final int MAX_BATCH_LENGTH = 1 << 13;
+	private static final RingBuffer BUFFER = new RingBuffer(1 << 12);
+	private static final Thread WRITER = new Thread(Log::write, "aoc-log");
+	private static volatile boolean writerParked;
+
+	static {
+		WRITER.setDaemon(true);
+		WRITER.start();
+		Runtime.getRuntime().addShutdownHook(new Thread(Log::flush, "aoc-log-flush"));
+	}
+
 	private Log() {
 	}
 
 	public static void debug(String message) {
-		printWithColour(message, Color.BLUE);
+		log(Level.DEBUG, message);
+	}
+
+	public static void debug(Supplier<String> message) {
+		log(Level.DEBUG, message);
 	}
 
 	public static void info(String message) {
-		printWithColour(message, Color.WHITE);
+		log(Level.INFO, message);
+	}
+
+	public static void info(Supplier<String> message) {
+		log(Level.INFO, message);
 	}
 
 	public static void warn(String message) {
-		printWithColour(message, Color.YELLOW);
+		log(Level.WARN, message);
+	}
+
+	public static void warn(Supplier<String> message) {
+		log(Level.WARN, message);
 	}
 
 	public static void error(String message) {
-		printWithColour(message, Color.RED);
+		log(Level.ERROR, message);
+	}
+
+	public static void error(Supplier<String> message) {
+		log(Level.ERROR, message);
+	}
+
+	/**
+	 * @return true if messages of the level are printed. Useful to skip work that is only needed for a message.
+	 */
+	public static boolean isEnabled(Level level) {
+		return level.compareTo(THRESHOLD) >= 0;
+	}
+
+	/**
+	 * Blocks until every message logged so far has been written out. This happens by itself when the JVM shuts down.
+	 */
+	public static void flush() {
+		while (!BUFFER.isDrained()) {
+			LockSupport.unpark(WRITER);
+			LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+		}
+	}
+
+	private static void log(Level level, Supplier<String> message) {
+		if (isEnabled(level)) {
+			log(level, message.get());
+		}
+	}
+
+	private static void log(Level level, String message) {
+		if (!isEnabled(level)) {
+			return;
+		}
+		BUFFER.put(new Entry(level, System.currentTimeMillis(), Thread.currentThread().getName(), message));
+		if (writerParked) {
+			LockSupport.unpark(WRITER);
+		}
 	}
 
-	private static void printWithColour(String message, Color color) {
-		var asciiColorReset = "\u001B[0m";
-		System.out.println(color.getCode() + message + asciiColorReset);
+	private static void write() {
+		StringBuilder batch = new StringBuilder();
+		while (true) {
+			Entry entry = BUFFER.poll();
+			if (entry != null) {
+				batch.append(JSON ? toJson(entry) : toText(entry)).append(System.lineSeparator());
+				if (batch.length() < MAX_BATCH_LENGTH) {
+					continue;
+				}
+			}
+			// Bursts of messages are written in one go
+			System.out.print(batch);
+			System.out.flush();
+			batch.setLength(0);
+			if (entry != null) {
+				continue;
+			}
+			BUFFER.markDrained();
+			writerParked = true;
+			if (BUFFER.isEmpty()) {
+				LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+			}
+			writerParked = false;
+		}
+	}
+
+	private static String toText(Entry entry) {
+		return COLOUR ? entry.level().colour + entry.message() + RESET : entry.message();
+	}
+
+	private static String toJson(Entry entry) {
+		return "{\"time\":\"" + Instant.ofEpochMilli(entry.epochMilli()) + "\",\"level\":\"" + entry.level() +
+				"\",\"thread\":" + quote(entry.thread()) + ",\"message\":" + quote(entry.message()) + "}";
+	}
+
+	private static String quote(String text) {
+		StringBuilder quoted = new StringBuilder(text.length() + 2).append('"');
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			switch (c) {
+				case '"' -> quoted.append("\\\"");
+				case '\\' -> quoted.append("\\\\");
+				case '\n' -> quoted.append("\\n");
+				case '\r' -> quoted.append("\\r");
+				case '\t' -> quoted.append("\\t");
+				default -> {
+					if (c < 0x20) {
+						quoted.append(String.format("\\u%04x", (int) c));
+					} else {
+						quoted.append(c);
+					}
+				}
+			}
+		}
+		return quoted.append('"').toString();
+	}
+
+	private static String property(String name, String defaultValue) {
+		return System.getProperty(name, defaultValue).strip().toLowerCase(Locale.ROOT);
+	}
+
+	public enum Level {
+		DEBUG("\u001B[34m"),
+		INFO("\033[0;97m"),
+		WARN("\u001B[33m"),
+		ERROR("\u001B[31m");
+
+		private final String colour;
+
+		Level(String colour) {
+			this.colour = colour;
+		}
 	}
 
-	private enum Color {
-		BLUE("\u001B[34m"),
-		WHITE("\033[0;97m"),
-		RED("\u001B[31m"),
-		YELLOW("\u001B[33m");
+	private record Entry(Level level, long epochMilli, String thread, String message) {
+	}
+
+	/**
+	 * A bounded queue for many producers and a single consumer, which doesn't take any locks. Every slot has a
+	 * sequence number that says whether it is ready to be written or read in the current lap around the buffer.
+	 * A producer that finds the buffer full waits for the writer to catch up, since dropping messages is not an option.
+	 */
+	private static class RingBuffer {
+		private final AtomicReferenceArray<Entry> entries;
+		private final AtomicLong[] sequences;
+		private final int mask;
+		private final AtomicLong tail = new AtomicLong();
+		private volatile long head;
+		private volatile long drained;
+
+		RingBuffer(int capacity) {
+			entries = new AtomicReferenceArray<>(capacity);
+			sequences = new AtomicLong[capacity];
+			for (int i = 0; i < capacity; i++) {
+				sequences[i] = new AtomicLong(i);
+			}
+			mask = capacity - 1;
+		}
+
+		void put(Entry entry) {
+			long position = tail.get();
+			while (true) {
+				int slot = (int) (position & mask);
+				long difference = sequences[slot].get() - position;
+				if (difference == 0) {
+					if (tail.compareAndSet(position, position + 1)) {
+						entries.set(slot, entry);
+						sequences[slot].set(position + 1);
+						return;
+					}
+					position = tail.get();
+				} else if (difference < 0) {
+					// Full
+					LockSupport.unpark(WRITER);
+					Thread.onSpinWait();
+					position = tail.get();
+				} else {
+					position = tail.get();
+				}
+			}
+		}
 
-		private final String code;
+		Entry poll() {
+			long position = head;
+			int slot = (int) (position & mask);
+			if (sequences[slot].get() != position + 1) {
+				return null;
+			}
+			Entry entry = entries.getAndSet(slot, null);
+			sequences[slot].set(position + mask + 1);
+			head = position + 1;
+			return entry;
+		}
+
+		boolean isEmpty() {
+			return sequences[(int) (head & mask)].get() != head + 1;
+		}
 
-		Color(String code) {
-			this.code = code;
+		/**
+		 * Called by the consumer once everything it has taken out has been written.
+		 */
+		void markDrained() {
+			drained = head;
 		}
 
-		public String getCode() {
-			return code;
+		boolean isDrained() {
+			return drained >= tail.get();
 		}
 	}
 }
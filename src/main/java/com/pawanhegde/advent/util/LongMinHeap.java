@@ -0,0 +1,118 @@
+package com.pawanhegde.advent.util;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A priority queue of {@code long} values with {@code long} priorities, lowest priority first, for searches like
+ * Dijkstra's or A*. The value is usually a grid index or {@link Coordinates packed coordinates}.
+ * <p>
+ * It is a binary heap kept in two parallel arrays, so pushing and popping don't allocate anything unless the heap has
+ * to grow. There is no way to lower the priority of a value that is already in the heap; push it again instead, and
+ * skip it when it is popped with a priority that is worse than the best one known for it.
+ */
+public final class LongMinHeap {
+	private static final int MIN_CAPACITY = 16;
+
+	private long[] priorities;
+	private long[] values;
+	private int size;
+
+	public LongMinHeap() {
+		this(MIN_CAPACITY);
+	}
+
+	public LongMinHeap(int initialCapacity) {
+		int capacity = Math.max(MIN_CAPACITY, initialCapacity);
+		priorities = new long[capacity];
+		values = new long[capacity];
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public void clear() {
+		size = 0;
+	}
+
+	public void push(long priority, long value) {
+		if (size == priorities.length) {
+			priorities = Arrays.copyOf(priorities, size * 2);
+			values = Arrays.copyOf(values, size * 2);
+		}
+		int child = size++;
+		// Moves the parents down until the new entry fits, instead of swapping it up one level at a time
+		while (child > 0) {
+			int parent = (child - 1) >>> 1;
+			if (priorities[parent] <= priority) {
+				break;
+			}
+			priorities[child] = priorities[parent];
+			values[child] = values[parent];
+			child = parent;
+		}
+		priorities[child] = priority;
+		values[child] = value;
+	}
+
+	/**
+	 * @return the lowest priority in the heap
+	 */
+	public long peekPriority() {
+		checkNotEmpty();
+		return priorities[0];
+	}
+
+	/**
+	 * @return the value with the lowest priority in the heap
+	 */
+	public long peekValue() {
+		checkNotEmpty();
+		return values[0];
+	}
+
+	/**
+	 * Removes the value with the lowest priority. Call {@link #peekPriority()} first to find out what its priority
+	 * was.
+	 *
+	 * @return the value that was removed
+	 */
+	public long pop() {
+		checkNotEmpty();
+		long top = values[0];
+		size--;
+		if (size == 0) {
+			return top;
+		}
+		long priority = priorities[size];
+		long value = values[size];
+		int parent = 0;
+		int half = size >>> 1;
+		while (parent < half) {
+			int child = 2 * parent + 1;
+			if (child + 1 < size && priorities[child + 1] < priorities[child]) {
+				child++;
+			}
+			if (priority <= priorities[child]) {
+				break;
+			}
+			priorities[parent] = priorities[child];
+			values[parent] = values[child];
+			parent = child;
+		}
+		priorities[parent] = priority;
+		values[parent] = value;
+		return top;
+	}
+
+	private void checkNotEmpty() {
+		if (size == 0) {
+			throw new NoSuchElementException("The heap is empty");
+		}
+	}
+}
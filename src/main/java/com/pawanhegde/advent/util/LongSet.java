@@ -0,0 +1,144 @@
+package com.pawanhegde.advent.util;
+
+import java.util.Arrays;
+
+/**
+ * A set of {@code long}s that stores them in a flat array, without boxing them. Meant for things like the
+ * {@link Coordinates packed coordinates} seen by a search over an unbounded space, where a {@link DenseIntSet}
+ * doesn't fit.
+ * <p>
+ * Works the same way as {@link LongLongMap}.
+ */
+public final class LongSet {
+	private static final int MIN_CAPACITY = 16;
+
+	private long[] keys;
+	private int mask;
+	private int size;
+	private boolean hasZeroKey;
+
+	public LongSet() {
+		this(MIN_CAPACITY);
+	}
+
+	/**
+	 * @param expectedSize the number of elements the set can hold before it has to grow
+	 */
+	public LongSet(int expectedSize) {
+		allocate(HashUtil.capacityFor(expectedSize, MIN_CAPACITY));
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public boolean contains(long key) {
+		return key == 0 ? hasZeroKey : keys[slotOf(key)] != 0;
+	}
+
+	/**
+	 * @return true if the element wasn't in the set yet
+	 */
+	public boolean add(long key) {
+		if (key == 0) {
+			if (hasZeroKey) {
+				return false;
+			}
+			hasZeroKey = true;
+			size++;
+			return true;
+		}
+		int slot = slotOf(key);
+		if (keys[slot] != 0) {
+			return false;
+		}
+		keys[slot] = key;
+		size++;
+		growIfNeeded();
+		return true;
+	}
+
+	/**
+	 * @return true if the element was in the set
+	 */
+	public boolean remove(long key) {
+		if (key == 0) {
+			if (!hasZeroKey) {
+				return false;
+			}
+			hasZeroKey = false;
+			size--;
+			return true;
+		}
+		int gap = slotOf(key);
+		if (keys[gap] == 0) {
+			return false;
+		}
+		// Moves back the elements after the removed one that would no longer be found past the gap
+		for (int next = (gap + 1) & mask; keys[next] != 0; next = (next + 1) & mask) {
+			int ideal = HashUtil.hash(keys[next]) & mask;
+			if (((next - ideal) & mask) >= ((next - gap) & mask)) {
+				keys[gap] = keys[next];
+				gap = next;
+			}
+		}
+		keys[gap] = 0;
+		size--;
+		return true;
+	}
+
+	public void clear() {
+		Arrays.fill(keys, 0);
+		hasZeroKey = false;
+		size = 0;
+	}
+
+	public void forEach(Consumer action) {
+		if (hasZeroKey) {
+			action.accept(0);
+		}
+		for (long key : keys) {
+			if (key != 0) {
+				action.accept(key);
+			}
+		}
+	}
+
+	/**
+	 * @return the slot of the element, or the empty slot where it would go
+	 */
+	private int slotOf(long key) {
+		int slot = HashUtil.hash(key) & mask;
+		while (keys[slot] != 0 && keys[slot] != key) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+
+	private void growIfNeeded() {
+		if (size * 2 <= keys.length) {
+			return;
+		}
+		long[] oldKeys = keys;
+		allocate(keys.length * 2);
+		for (long key : oldKeys) {
+			if (key != 0) {
+				keys[slotOf(key)] = key;
+			}
+		}
+	}
+
+	private void allocate(int capacity) {
+		keys = new long[capacity];
+		mask = capacity - 1;
+	}
+
+	@FunctionalInterface
+	public interface Consumer {
+		void accept(long key);
+	}
+}
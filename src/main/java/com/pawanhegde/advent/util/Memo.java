@@ -0,0 +1,51 @@
+package com.pawanhegde.advent.util;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * Memoizes functions, for the recursive dynamic programming that many puzzles come down to.
+ * <p>
+ * Unlike {@link Map#computeIfAbsent}, the memoized functions can call themselves recursively, since the result is
+ * only stored once it has been computed. The memoized functions are not thread safe.
+ * <pre>{@code
+ * private static final LongUnaryOperator FIBONACCI = Memo.memoizeLong(Day01::fibonacci);
+ *
+ * private static long fibonacci(long n) {
+ *     return n < 2 ? n : FIBONACCI.applyAsLong(n - 1) + FIBONACCI.applyAsLong(n - 2);
+ * }
+ * }</pre>
+ */
+public final class Memo {
+	private Memo() {
+	}
+
+	public static <T, R> Function<T, R> memoize(Function<T, R> function) {
+		Map<T, R> results = new HashMap<>();
+		return argument -> {
+			R result = results.get(argument);
+			if (result == null && !results.containsKey(argument)) {
+				result = function.apply(argument);
+				results.put(argument, result);
+			}
+			return result;
+		};
+	}
+
+	/**
+	 * Same as {@link #memoize(Function)}, but without boxing the arguments or the results.
+	 */
+	public static LongUnaryOperator memoizeLong(LongUnaryOperator function) {
+		LongLongMap results = new LongLongMap();
+		return argument -> {
+			if (results.containsKey(argument)) {
+				return results.get(argument, 0);
+			}
+			long result = function.applyAsLong(argument);
+			results.put(argument, result);
+			return result;
+		};
+	}
+}
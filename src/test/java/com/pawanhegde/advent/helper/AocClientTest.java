@@ -0,0 +1,104 @@
+package com.pawanhegde.advent.helper;
+
+import com.pawanhegde.advent.Constants;
+import com.pawanhegde.advent.stub.AocStubServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AocClientTest {
+	private AocStubServer server;
+	private AocClient client;
+
+	@BeforeEach
+	void startServer() throws IOException {
+		server = AocStubServer.start().puzzle(2015, 1, "(()(()(\n", "3", "1");
+		client = new AocClient(server.baseUri(), () -> "test-session", Duration.ZERO);
+	}
+
+	@AfterEach
+	void stopServer() {
+		server.close();
+	}
+
+	@Test
+	void downloadsTheInput() {
+		HttpResponse<String> response = client.get("2015/day/1/input");
+
+		assertEquals(HttpURLConnection.HTTP_OK, response.statusCode());
+		assertEquals("(()(()(\n", response.body());
+	}
+
+	@Test
+	void downloadsTheInputThroughTheSharedClient() {
+		StubServer.get().puzzle(2015, 2, "2x3x4\n", "58", "34");
+
+		HttpResponse<String> response = AocClient.shared().get("2015/day/2/input");
+
+		assertEquals(HttpURLConnection.HTTP_OK, response.statusCode());
+		assertEquals("2x3x4\n", response.body());
+	}
+
+	@Test
+	void reportsDaysThatAreNotOpenYet() {
+		HttpResponse<String> response = client.get("2015/day/2/input");
+
+		assertEquals(HttpURLConnection.HTTP_NOT_FOUND, response.statusCode());
+		assertTrue(response.body().contains(Constants.NOT_OPEN_YET));
+	}
+
+	@Test
+	void getsNotModifiedForAnUnchangedPage() throws IOException {
+		HttpResponse<InputStream> first = client.getStream("2015/day/1", Map.of());
+		first.body().close();
+		assertEquals(HttpURLConnection.HTTP_OK, first.statusCode());
+		String etag = first.headers().firstValue("ETag").orElseThrow();
+
+		HttpResponse<InputStream> second = client.getStream("2015/day/1", Map.of("If-None-Match", etag));
+		second.body().close();
+
+		assertEquals(HttpURLConnection.HTTP_NOT_MODIFIED, second.statusCode());
+	}
+
+	@Test
+	void retriesServerErrors() {
+		// With this seed, no request fails as often as the client tries it
+		server.failureRate(0.3, 7);
+
+		for (int i = 0; i < 10; i++) {
+			HttpResponse<String> response = client.get("2015/day/1/input");
+			assertEquals(HttpURLConnection.HTTP_OK, response.statusCode());
+		}
+		assertTrue(server.requestCount() > 10, "Some of the requests should have been retried");
+	}
+
+	@Test
+	void givesUpAfterRepeatedServerErrors() {
+		server.failureRate(1, 0);
+
+		HttpResponse<String> response = client.get("2015/day/1/input");
+
+		assertEquals(HttpURLConnection.HTTP_INTERNAL_ERROR, response.statusCode());
+		assertEquals(3, server.requestCount());
+	}
+
+	@Test
+	void neverSendsAnAnswerTwice() {
+		server.failureRate(1, 0);
+
+		HttpResponse<String> response = client.post("2015/day/1/answer", "level=1&answer=3");
+
+		assertEquals(HttpURLConnection.HTTP_INTERNAL_ERROR, response.statusCode());
+		assertEquals(1, server.requestCount());
+	}
+}
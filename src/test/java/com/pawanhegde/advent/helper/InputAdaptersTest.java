@@ -0,0 +1,88 @@
+package com.pawanhegde.advent.helper;
+
+import com.pawanhegde.advent.AocException;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InputAdaptersTest {
+	@Test
+	void givesTheLinesWithoutTheirTerminators() {
+		assertEquals(List.of("ab", "", "c"), adapt("lines", "ab\r\n\nc\n"));
+	}
+
+	@Test
+	void givesAGridOfCharacters() {
+		assertArrayEquals(new char[][]{{'#', '.'}, {'.', '#'}}, adapt("grid", "#.\n.#\n"));
+	}
+
+	@Test
+	void givesTheNumbersOnEachLine() {
+		assertArrayEquals(new int[][]{{1, 2, 3}, {}, {-4, 5}}, adapt("numbers", "1, 2 and 3\n\nx=-4 y=5\n"));
+	}
+
+	@Test
+	void readsRangesAsPositiveNumbers() {
+		assertArrayEquals(new int[][]{{2, 4, 6, 8}, {1, 3}, {-7, 3}},
+				adapt("numbers", "2-4,6-8\n1-3 a: abc\n-7 b-3\n"));
+	}
+
+	@Test
+	void readsTheLimitsOfAnInt() {
+		assertArrayEquals(new int[][]{{Integer.MIN_VALUE, Integer.MAX_VALUE}},
+				adapt("numbers", "-2147483648 2147483647"));
+	}
+
+	@Test
+	void rejectsNumbersThatDoNotFitInAnInt() {
+		AocException e = assertThrows(AocException.class, () -> adapt("numbers", "1\n2 3000000000\n"));
+		assertTrue(e.getMessage().contains("Line 2"), e.getMessage());
+	}
+
+	@Test
+	void givesTheWordsOnEachLine() {
+		assertArrayEquals(new String[][]{{"move", "1", "from", "2"}, {}}, adapt("words", "  move 1  from\t2\n\n"));
+	}
+
+	@Test
+	void rejectsSolutionsThatTakeSomethingElse() throws NoSuchMethodException {
+		Method method = InputAdaptersTest.class.getDeclaredMethod("unsupported", Integer.class);
+
+		assertFalse(InputAdapters.supports(method));
+		assertThrows(AocException.class, () -> InputAdapters.adapt(method, ByteBuffer.allocate(0)));
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T adapt(String solution, String input) {
+		for (Method method : InputAdaptersTest.class.getDeclaredMethods()) {
+			if (method.getName().equals(solution)) {
+				return (T) InputAdapters.adapt(method, ByteBuffer.wrap(input.getBytes(StandardCharsets.US_ASCII)));
+			}
+		}
+		throw new IllegalArgumentException(solution);
+	}
+
+	private static void lines(List<String> input) {
+	}
+
+	private static void grid(char[][] input) {
+	}
+
+	private static void numbers(int[][] input) {
+	}
+
+	private static void words(String[][] input) {
+	}
+
+	private static void unsupported(Integer input) {
+	}
+}
@@ -0,0 +1,68 @@
+package com.pawanhegde.advent.helper;
+
+import com.pawanhegde.advent.AocException;
+import com.pawanhegde.advent.Settings;
+import com.pawanhegde.advent.model.ProblemId;
+import com.pawanhegde.advent.stub.AocStubServer;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ProblemPagesTest {
+	private static AocStubServer server;
+
+	@BeforeAll
+	static void startServer() {
+		server = StubServer.get();
+	}
+
+	@Test
+	void readsNothingOffTheFirstPageOfAnUnsolvedDay() {
+		server.puzzle(2017, 1, "1122\n", "3", "0");
+
+		assertEquals(List.of(), ProblemPages.getCorrectAnswers(new ProblemId(2017, 1, 1)));
+	}
+
+	@Test
+	void readsTheAnswersOfTheSolvedParts() {
+		server.puzzle(2017, 2, "5 1 9 5\n", "18", "9");
+		ProblemId problemId = new ProblemId(2017, 2, 1);
+
+		server.solved(problemId);
+		assertEquals(List.of("18"), ProblemPages.getCorrectAnswers(problemId));
+
+		server.solved(new ProblemId(2017, 2, 2));
+		assertEquals(List.of("18", "9"), ProblemPages.getCorrectAnswers(problemId));
+	}
+
+	@Test
+	void usesTheKeptAnswersWhenThePageHasNotChanged() throws IOException {
+		server.puzzle(2017, 3, "1024\n", "31", "1968");
+		ProblemId problemId = new ProblemId(2017, 3, 1);
+		server.solved(new ProblemId(2017, 3, 2));
+		assertEquals(List.of("31", "1968"), ProblemPages.getCorrectAnswers(problemId));
+
+		// Only an answer that was not read off the page again can show up
+		Path kept = Settings.cacheFolder().resolve("pages").resolve("2017-3.json");
+		Files.writeString(kept, Files.readString(kept).replace("1968", "kept"));
+		assertEquals(List.of("31", "kept"), ProblemPages.getCorrectAnswers(problemId));
+	}
+
+	@Test
+	void failsOnServerErrors() {
+		server.puzzle(2017, 4, "aa bb cc\n", "1", "2");
+		server.failureRate(1, 0);
+		try {
+			assertThrows(AocException.class, () -> ProblemPages.getCorrectAnswers(new ProblemId(2017, 4, 1)));
+		} finally {
+			server.failureRate(0, 0);
+		}
+	}
+}
@@ -0,0 +1,29 @@
+package com.pawanhegde.advent.helper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * The scratch folder that the caches use during the tests, instead of the real one. The caches read the setting only
+ * once, so every test that touches them asks for the folder before anything else, and they all share it.
+ */
+final class ScratchCache {
+	private static Path folder;
+
+	private ScratchCache() {
+	}
+
+	static synchronized Path folder() {
+		if (folder == null) {
+			try {
+				folder = Files.createTempDirectory("aoc-cache");
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			System.setProperty("aoc.cache.dir", folder.toString());
+		}
+		return folder;
+	}
+}
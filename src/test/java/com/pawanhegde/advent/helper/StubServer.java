@@ -0,0 +1,38 @@
+package com.pawanhegde.advent.helper;
+
+import com.pawanhegde.advent.stub.AocStubServer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * The stub server that the shared {@link AocClient} talks to during the tests. The client and the caches read their
+ * settings only once, so there is a single server for all the tests, and the settings are pointed at it and at the
+ * {@link ScratchCache} before any of them are read. Every test uses days of its own, so that the tests don't see each
+ * other's submissions.
+ */
+final class StubServer {
+	private static AocStubServer server;
+
+	private StubServer() {
+	}
+
+	static synchronized AocStubServer get() {
+		if (server == null) {
+			try {
+				server = AocStubServer.start();
+				Path token = Files.createTempFile("aoc-token", ".txt");
+				Files.writeString(token, "test-session\n");
+				System.setProperty("aoc.url", server.baseUri().toString());
+				System.setProperty("aoc.token.file", token.toString());
+				ScratchCache.folder();
+				System.setProperty("aoc.request.interval", "PT0S");
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+		return server;
+	}
+}
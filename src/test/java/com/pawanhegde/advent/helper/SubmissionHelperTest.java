@@ -0,0 +1,82 @@
+package com.pawanhegde.advent.helper;
+
+import com.pawanhegde.advent.model.ProblemId;
+import com.pawanhegde.advent.model.Submission;
+import com.pawanhegde.advent.model.SubmissionStatus;
+import com.pawanhegde.advent.stub.AocStubServer;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SubmissionHelperTest {
+	private static AocStubServer server;
+
+	@BeforeAll
+	static void startServer() {
+		server = StubServer.get();
+	}
+
+	@BeforeEach
+	void noWaitingBetweenAnswers() {
+		server.waitTime(Duration.ZERO);
+	}
+
+	@Test
+	void recognisesTheCorrectAnswer() {
+		server.puzzle(2016, 1, "R2, L3\n", "5", "4");
+
+		Submission submission = SubmissionHelper.submit(new ProblemId(2016, 1, 1), "5");
+
+		assertEquals(SubmissionStatus.CORRECT, submission.status());
+	}
+
+	@Test
+	void recognisesAnswersThatAreTooHighOrTooLow() {
+		server.puzzle(2016, 2, "ULL\n", "1985", "5DB3");
+		ProblemId problemId = new ProblemId(2016, 2, 1);
+
+		assertEquals(SubmissionStatus.TOO_HIGH, SubmissionHelper.submit(problemId, "2000").status());
+		assertEquals(SubmissionStatus.TOO_LOW, SubmissionHelper.submit(problemId, "1000").status());
+		assertEquals(SubmissionStatus.CORRECT, SubmissionHelper.submit(problemId, "1985").status());
+	}
+
+	@Test
+	void recognisesIncorrectAnswersThatAreNotNumbers() {
+		server.puzzle(2016, 3, "5 10 25\n", "1985", "5DB3");
+		server.solved(new ProblemId(2016, 3, 1));
+
+		Submission submission = SubmissionHelper.submit(new ProblemId(2016, 3, 2), "ABCD");
+
+		assertEquals(SubmissionStatus.INCORRECT, submission.status());
+	}
+
+	@Test
+	void waitsOutTheTimeoutAfterAWrongAnswer() throws Exception {
+		server.puzzle(2016, 4, "aaaaa-bbb-z-y-x-123[abxyz]\n", "1514", "982");
+		server.waitTime(Duration.ofSeconds(1));
+		ProblemId problemId = new ProblemId(2016, 4, 1);
+		SubmissionHelper.submit(problemId, "1");
+
+		Submission tooSoon = SubmissionHelper.submit(problemId, "1514");
+		assertEquals(SubmissionStatus.RATE_LIMITED, tooSoon.status());
+		assertEquals(Duration.ofSeconds(1), SubmissionQueue.getWaitTime(tooSoon.response()));
+
+		Submission queued = SubmissionQueue.submit(problemId, "1514").get(10, TimeUnit.SECONDS);
+		assertEquals(SubmissionStatus.CORRECT, queued.status());
+	}
+
+	@Test
+	void judgesAnswersToSolvedPartsFromTheProblemPage() {
+		server.puzzle(2016, 5, "abc\n", "18f47a30", "05ace8e3");
+		ProblemId problemId = new ProblemId(2016, 5, 1);
+		server.solved(problemId);
+
+		assertEquals(SubmissionStatus.CORRECT, SubmissionHelper.submit(problemId, "18f47a30").status());
+		assertEquals(SubmissionStatus.INCORRECT, SubmissionHelper.submit(problemId, "00000000").status());
+	}
+}
@@ -0,0 +1,118 @@
+package com.pawanhegde.advent.helper;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pawanhegde.advent.Constants;
+import com.pawanhegde.advent.model.ProblemId;
+import com.pawanhegde.advent.model.Submission;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SubmissionJournalTest {
+	private static final ProblemId PROBLEM_ID = new ProblemId(2018, 1, 1);
+	private static final int SUBMISSIONS_PER_WRITER = 50;
+	private static Path cacheFolder;
+
+	@BeforeAll
+	static void useAScratchCacheFolder() {
+		cacheFolder = ScratchCache.folder();
+	}
+
+	@Test
+	void losesNothingWhileProcessesAppendAndCompact() throws Exception {
+		List<Process> processes = new ArrayList<>();
+		for (int i = 0; i < 2; i++) {
+			processes.add(new ProcessBuilder(Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+					"-Daoc.cache.dir=" + cacheFolder, "-cp", System.getProperty("java.class.path"),
+					Writer.class.getName(), "process" + i).inheritIO().start());
+		}
+		ExecutorService threads = Executors.newFixedThreadPool(2);
+		List<Future<?>> writers = new ArrayList<>();
+		for (int i = 0; i < 2; i++) {
+			String name = "thread" + i;
+			writers.add(threads.submit(() -> Writer.write(name)));
+		}
+		for (Future<?> writer : writers) {
+			writer.get();
+		}
+		threads.shutdown();
+		for (Process process : processes) {
+			assertEquals(0, process.waitFor());
+		}
+
+		// Shows that this process used the same journal as the others
+		assertTrue(Files.exists(cacheFolder.resolve("journal").resolve("2018-1-1.jsonl")));
+		List<Submission> submissions = SubmissionJournal.read(PROBLEM_ID);
+		Set<String> answers = new HashSet<>();
+		submissions.forEach(submission -> answers.add(submission.answer()));
+		for (String writer : List.of("process0", "process1", "thread0", "thread1")) {
+			for (int i = 0; i < SUBMISSIONS_PER_WRITER; i++) {
+				assertTrue(answers.contains(writer + "-" + i), writer + "-" + i + " is missing");
+			}
+		}
+		assertTrue(answers.contains("0"));
+		// Without compactions, the duplicates alone would make up two thirds of the journal
+		assertTrue(submissions.size() < 3 * 4 * SUBMISSIONS_PER_WRITER, "The journal was never compacted");
+	}
+
+	@Test
+	void keepsAWholeLastLineThatWasNeverEnded() throws IOException {
+		ProblemId problemId = new ProblemId(2018, 2, 1);
+		Submission unended = new Submission(problemId, "1", 1L, Constants.INCORRECT);
+		Path journal = cacheFolder.resolve("journal").resolve("2018-2-1.jsonl");
+		Files.writeString(journal, new ObjectMapper().writeValueAsString(unended));
+
+		assertEquals(List.of(unended), SubmissionJournal.read(problemId));
+		Submission next = new Submission(problemId, "2", 2L, Constants.INCORRECT);
+		SubmissionJournal.append(List.of(next));
+
+		assertEquals(List.of(unended, next), SubmissionJournal.read(problemId));
+	}
+
+	@Test
+	void dropsHalfALastLine() throws IOException {
+		ProblemId problemId = new ProblemId(2018, 3, 1);
+		Submission whole = new Submission(problemId, "1", 1L, Constants.INCORRECT);
+		Path journal = cacheFolder.resolve("journal").resolve("2018-3-1.jsonl");
+		Files.writeString(journal, new ObjectMapper().writeValueAsString(whole) + "\n{\"problemId\":");
+
+		assertEquals(List.of(whole), SubmissionJournal.read(problemId));
+		Submission next = new Submission(problemId, "2", 2L, Constants.INCORRECT);
+		SubmissionJournal.append(List.of(next));
+
+		assertEquals(List.of(whole, next), SubmissionJournal.read(problemId));
+	}
+
+	/**
+	 * Appends answers of its own, each along with two duplicates of a shared one, and reads the journal in between,
+	 * which compacts it as soon as most of it is made up of duplicates.
+	 */
+	static class Writer {
+		public static void main(String[] args) {
+			write(args[0]);
+		}
+
+		static void write(String name) {
+			for (int i = 0; i < SUBMISSIONS_PER_WRITER; i++) {
+				long now = System.currentTimeMillis();
+				SubmissionJournal.append(List.of(new Submission(PROBLEM_ID, name + "-" + i, now, Constants.INCORRECT),
+						new Submission(PROBLEM_ID, "0", now, Constants.INCORRECT),
+						new Submission(PROBLEM_ID, "0", now + 1, Constants.INCORRECT)));
+				SubmissionJournal.read(PROBLEM_ID);
+			}
+		}
+	}
+}
@@ -0,0 +1,97 @@
+package com.pawanhegde.advent.helper;
+
+import com.pawanhegde.advent.AocException;
+import com.pawanhegde.advent.helper.Supervisor.Deadline;
+import com.pawanhegde.advent.model.Phase;
+import com.pawanhegde.advent.model.ProblemId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SupervisorTest {
+	private static final ProblemId PROBLEM_ID = new ProblemId(2019, 1, 1);
+	private static final StoredInput INPUT = new StoredInput(ByteBuffer.wrap("12\n14\n".getBytes(
+			StandardCharsets.US_ASCII)), "hash");
+	private static volatile boolean released;
+	private static volatile byte[] sink;
+
+	@AfterEach
+	void releaseStubbornSolutions() {
+		released = true;
+		System.clearProperty("aoc.memory.budget");
+	}
+
+	@Test
+	void returnsTheAnswerOfAWellBehavedSolution() throws NoSuchMethodException {
+		assertEquals("12\n14", run("wellBehaved", Duration.ofSeconds(10)));
+	}
+
+	@Test
+	void stopsASolutionThatIgnoresInterrupts() {
+		released = false;
+
+		AocException e = assertThrows(AocException.class, () -> run("ignoresInterrupts", Duration.ofMillis(200)));
+
+		assertTrue(e.getMessage().contains("did not finish within PT0.2S"), e.getMessage());
+	}
+
+	@Test
+	void stopsASolutionThatGoesOverItsMemoryBudget() {
+		System.setProperty("aoc.memory.budget", "64m");
+
+		AocException e = assertThrows(AocException.class, () -> run("allocates", Duration.ofSeconds(10)));
+
+		assertTrue(e.getMessage().contains("more than its budget of " + (64 << 20)), e.getMessage());
+	}
+
+	@Test
+	void sharesOneDeadlineBetweenTheRunsOfAnAttempt() throws NoSuchMethodException {
+		Deadline deadline = Deadline.after(Duration.ofMillis(300));
+		Supervisor.run(PROBLEM_ID, Phase.SAMPLE_RUN, method("sleeps"), INPUT, deadline);
+
+		assertThrows(AocException.class,
+				() -> Supervisor.run(PROBLEM_ID, Phase.ACTUAL_RUN, method("sleeps"), INPUT, deadline));
+	}
+
+	private static String run(String solution, Duration timeout) throws NoSuchMethodException {
+		return Supervisor.run(PROBLEM_ID, Phase.ACTUAL_RUN, method(solution), INPUT, Deadline.after(timeout)).value();
+	}
+
+	private static java.lang.reflect.Method method(String solution) throws NoSuchMethodException {
+		return SupervisorTest.class.getMethod(solution, String.class);
+	}
+
+	public static String wellBehaved(String input) {
+		return input.strip();
+	}
+
+	public static String ignoresInterrupts(String input) {
+		while (!released) {
+			try {
+				Thread.sleep(10);
+			} catch (InterruptedException e) {
+				// Carries on regardless
+			}
+		}
+		return input;
+	}
+
+	public static String allocates(String input) {
+		while (!Thread.currentThread().isInterrupted()) {
+			sink = new byte[1 << 20];
+		}
+		return input;
+	}
+
+	public static String sleeps(String input) throws InterruptedException {
+		Thread.sleep(200);
+		return input;
+	}
+}
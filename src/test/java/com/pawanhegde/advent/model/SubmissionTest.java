@@ -0,0 +1,29 @@
+package com.pawanhegde.advent.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SubmissionTest {
+	private static final ProblemId PROBLEM_ID = new ProblemId(2022, 1, 1);
+
+	@Test
+	void readsTheStatusOffTheResponsesOfTheServer() {
+		assertEquals(SubmissionStatus.CORRECT, statusOf("That's the right answer!  You are one gold star closer to " +
+				"finding the sleigh keys."));
+		assertEquals(SubmissionStatus.TOO_HIGH, statusOf("That's not the right answer; your answer is too high.  If " +
+				"you're stuck, make sure you're using the full input data."));
+		assertEquals(SubmissionStatus.TOO_LOW, statusOf("That's not the right answer; your answer is too low.  If " +
+				"you're stuck, make sure you're using the full input data."));
+		assertEquals(SubmissionStatus.INCORRECT, statusOf("That's not the right answer.  If you're stuck, make sure " +
+				"you're using the full input data."));
+		assertEquals(SubmissionStatus.RATE_LIMITED, statusOf("You gave an answer too recently; you have to wait after " +
+				"submitting an answer before trying again.  You have 34s left to wait."));
+		assertEquals(SubmissionStatus.UNKNOWN, statusOf("You don't seem to be solving the right level.  Did you " +
+				"already complete it?"));
+	}
+
+	private static SubmissionStatus statusOf(String response) {
+		return new Submission(PROBLEM_ID, "1", 0, response).status();
+	}
+}
@@ -0,0 +1,85 @@
+package com.pawanhegde.advent.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CharGridTest {
+	private static final List<String> LINES = List.of("#.S", "...", ".E#", "..#");
+
+	@Test
+	void readsTheLinesRowByRow() {
+		CharGrid grid = CharGrid.of(LINES);
+
+		assertEquals(3, grid.width());
+		assertEquals(4, grid.height());
+		assertEquals('S', grid.get(2, 0));
+		assertEquals('E', grid.get(1, 2));
+		assertEquals('#', grid.get(grid.index(2, 3)));
+		assertEquals(String.join("\n", LINES) + "\n", grid.toString());
+	}
+
+	@Test
+	void readsTheSameGridFromRows() {
+		char[][] rows = LINES.stream().map(String::toCharArray).toArray(char[][]::new);
+
+		assertEquals(CharGrid.of(LINES).toString(), CharGrid.of(rows).toString());
+	}
+
+	@Test
+	void givesTheDefaultOutsideTheGrid() {
+		CharGrid grid = CharGrid.of(LINES);
+
+		assertEquals('#', grid.getOrDefault(0, 0, ' '));
+		assertEquals(' ', grid.getOrDefault(-1, 0, ' '));
+		assertEquals(' ', grid.getOrDefault(3, 0, ' '));
+		assertEquals(' ', grid.getOrDefault(0, 4, ' '));
+	}
+
+	@Test
+	void findsTheFirstCellWithACharacter() {
+		CharGrid grid = CharGrid.of(LINES);
+
+		assertEquals(grid.index(2, 0), grid.indexOf('S'));
+		assertEquals(grid.index(0, 0), grid.indexOf('#'));
+		assertEquals(-1, grid.indexOf('x'));
+	}
+
+	@Test
+	void copiesTheCells() {
+		CharGrid grid = CharGrid.of(LINES);
+		CharGrid copy = grid.copy();
+
+		copy.set(0, 0, '.');
+		copy.set(grid.index(1, 1), '#');
+
+		assertEquals('#', grid.get(0, 0));
+		assertEquals('.', grid.get(1, 1));
+		assertEquals('.', copy.get(0, 0));
+		assertEquals('#', copy.get(1, 1));
+	}
+
+	@Test
+	void fillsANewGrid() {
+		CharGrid grid = new CharGrid(2, 2, '~');
+
+		assertEquals("~~\n~~\n", grid.toString());
+	}
+
+	@Test
+	void readsAnEmptyGrid() {
+		CharGrid grid = CharGrid.of(List.of());
+
+		assertEquals(0, grid.size());
+		assertEquals(-1, grid.indexOf('#'));
+	}
+
+	@Test
+	void rejectsRaggedRows() {
+		assertThrows(IllegalArgumentException.class, () -> CharGrid.of(List.of("...", "..")));
+		assertThrows(IllegalArgumentException.class, () -> CharGrid.of(new char[][]{{'.'}, {'.', '.'}}));
+	}
+}
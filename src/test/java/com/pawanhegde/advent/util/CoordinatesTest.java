@@ -0,0 +1,65 @@
+package com.pawanhegde.advent.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CoordinatesTest {
+	private static final int[] EDGES = {Integer.MIN_VALUE, Integer.MIN_VALUE + 1, -2, -1, 0, 1, 2,
+			Integer.MAX_VALUE - 1, Integer.MAX_VALUE};
+	private static final int MIN_3 = -(1 << 20);
+	private static final int MAX_3 = (1 << 20) - 1;
+	private static final int[] EDGES_3 = {MIN_3, MIN_3 + 1, -2, -1, 0, 1, 2, MAX_3 - 1, MAX_3};
+
+	@Test
+	void unpacksWhatWasPacked() {
+		Set<Long> packed = new HashSet<>();
+		for (int x : EDGES) {
+			for (int y : EDGES) {
+				long coordinates = Coordinates.pack(x, y);
+				assertEquals(x, Coordinates.x(coordinates));
+				assertEquals(y, Coordinates.y(coordinates));
+				assertTrue(packed.add(coordinates), x + "," + y + " packs the same as other coordinates");
+			}
+		}
+	}
+
+	@Test
+	void unpacksWhatWasPackedInThreeDimensions() {
+		Set<Long> packed = new HashSet<>();
+		for (int x : EDGES_3) {
+			for (int y : EDGES_3) {
+				for (int z : EDGES_3) {
+					long coordinates = Coordinates.pack(x, y, z);
+					assertEquals(x, Coordinates.x3(coordinates));
+					assertEquals(y, Coordinates.y3(coordinates));
+					assertEquals(z, Coordinates.z3(coordinates));
+					assertTrue(packed.add(coordinates), x + "," + y + "," + z + " packs the same as other coordinates");
+				}
+			}
+		}
+	}
+
+	@Test
+	void movesAcrossTheAxes() {
+		long moved = Coordinates.move(Coordinates.pack(1, -1), -3, 2);
+		assertEquals(-2, Coordinates.x(moved));
+		assertEquals(1, Coordinates.y(moved));
+
+		long moved3 = Coordinates.move(Coordinates.pack(0, -1, 1), -1, 1, -2);
+		assertEquals(-1, Coordinates.x3(moved3));
+		assertEquals(0, Coordinates.y3(moved3));
+		assertEquals(-1, Coordinates.z3(moved3));
+	}
+
+	@Test
+	void measuresManhattanDistances() {
+		assertEquals(0, Coordinates.manhattanDistance(Coordinates.pack(-4, 7), Coordinates.pack(-4, 7)));
+		assertEquals(12, Coordinates.manhattanDistance(Coordinates.pack(-3, 4), Coordinates.pack(2, -3)));
+		assertEquals(12, Coordinates.manhattanDistance(Coordinates.pack(2, -3), Coordinates.pack(-3, 4)));
+	}
+}
@@ -0,0 +1,76 @@
+package com.pawanhegde.advent.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DenseIntSetTest {
+	@Test
+	void behavesLikeABitSet() {
+		DenseIntSet set = new DenseIntSet(1_000);
+		BitSet expected = new BitSet();
+		Random random = new Random(5);
+		for (int i = 0; i < 100_000; i++) {
+			int value = random.nextInt(1_000);
+			switch (random.nextInt(3)) {
+				case 0 -> {
+					assertEquals(!expected.get(value), set.add(value));
+					expected.set(value);
+				}
+				case 1 -> {
+					assertEquals(expected.get(value), set.remove(value));
+					expected.clear(value);
+				}
+				default -> assertEquals(expected.get(value), set.contains(value));
+			}
+			assertEquals(expected.cardinality(), set.size());
+		}
+	}
+
+	@Test
+	void keepsNumbersOnEitherSideOfAWordApart() {
+		DenseIntSet set = new DenseIntSet(130);
+
+		for (int value : new int[]{0, 63, 64, 127, 128, 129}) {
+			assertTrue(set.add(value));
+		}
+
+		for (int value = 0; value < 130; value++) {
+			boolean added = value == 0 || value == 63 || value == 64 || value == 127 || value == 128 || value == 129;
+			assertEquals(added, set.contains(value), "Contains " + value);
+		}
+		assertEquals(6, set.size());
+	}
+
+	@Test
+	void rejectsNumbersOutsideItsCapacity() {
+		DenseIntSet set = new DenseIntSet(64);
+
+		assertThrows(IndexOutOfBoundsException.class, () -> set.add(64));
+		assertThrows(IndexOutOfBoundsException.class, () -> set.add(-1));
+		assertThrows(IndexOutOfBoundsException.class, () -> set.contains(-64));
+		assertThrows(IndexOutOfBoundsException.class, () -> set.remove(100));
+		assertThrows(IndexOutOfBoundsException.class, () -> new DenseIntSet(0).contains(0));
+		assertThrows(IllegalArgumentException.class, () -> new DenseIntSet(-1));
+	}
+
+	@Test
+	void clearsEverything() {
+		DenseIntSet set = new DenseIntSet(200);
+		set.add(3);
+		set.add(199);
+
+		set.clear();
+
+		assertTrue(set.isEmpty());
+		assertFalse(set.contains(3));
+		assertFalse(set.contains(199));
+		assertEquals(200, set.capacity());
+	}
+}
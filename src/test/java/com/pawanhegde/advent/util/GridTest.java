@@ -0,0 +1,97 @@
+package com.pawanhegde.advent.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GridTest {
+	private static final int[][] DIRECTIONS = {{0, -1}, {1, 0}, {0, 1}, {-1, 0}};
+	private static final int[][] DIRECTIONS_WITH_DIAGONALS = {
+			{0, -1}, {1, -1}, {1, 0}, {1, 1}, {0, 1}, {-1, 1}, {-1, 0}, {-1, -1}
+	};
+
+	@Test
+	void convertsBetweenCoordinatesAndIndexes() {
+		Grid grid = new IntGrid(5, 3);
+
+		for (int y = 0; y < grid.height(); y++) {
+			for (int x = 0; x < grid.width(); x++) {
+				int index = grid.index(x, y);
+				assertEquals(y * 5 + x, index);
+				assertEquals(x, grid.x(index));
+				assertEquals(y, grid.y(index));
+			}
+		}
+		assertEquals(15, grid.size());
+	}
+
+	@Test
+	void knowsItsBounds() {
+		Grid grid = new IntGrid(5, 3);
+
+		assertTrue(grid.inBounds(0, 0));
+		assertTrue(grid.inBounds(4, 2));
+		assertFalse(grid.inBounds(-1, 0));
+		assertFalse(grid.inBounds(0, -1));
+		assertFalse(grid.inBounds(5, 0));
+		assertFalse(grid.inBounds(0, 3));
+	}
+
+	@Test
+	void findsTheNeighboursOfEveryCellIncludingThoseOnTheBorders() {
+		for (int[] size : new int[][]{{1, 1}, {1, 4}, {4, 1}, {2, 2}, {5, 3}}) {
+			Grid grid = new IntGrid(size[0], size[1]);
+			int[] neighbours = new int[8];
+			for (int index = 0; index < grid.size(); index++) {
+				String cell = "Cell " + index + " of " + Arrays.toString(size);
+				int count = grid.neighbours(index, neighbours);
+				assertEquals(expectedNeighbours(grid, index, DIRECTIONS),
+						Arrays.stream(neighbours, 0, count).boxed().toList(), cell);
+
+				count = grid.neighboursWithDiagonals(index, neighbours);
+				assertEquals(expectedNeighbours(grid, index, DIRECTIONS_WITH_DIAGONALS),
+						Arrays.stream(neighbours, 0, count).boxed().toList(), cell);
+			}
+		}
+	}
+
+	@Test
+	void findsTheNeighboursOfACornerInOrder() {
+		Grid grid = new IntGrid(3, 3);
+		int[] neighbours = new int[8];
+
+		assertEquals(2, grid.neighbours(grid.index(2, 2), neighbours));
+		assertEquals(grid.index(2, 1), neighbours[0]);
+		assertEquals(grid.index(1, 2), neighbours[1]);
+
+		assertEquals(3, grid.neighboursWithDiagonals(0, neighbours));
+		assertEquals(grid.index(1, 0), neighbours[0]);
+		assertEquals(grid.index(1, 1), neighbours[1]);
+		assertEquals(grid.index(0, 1), neighbours[2]);
+	}
+
+	@Test
+	void rejectsANegativeSize() {
+		assertThrows(IllegalArgumentException.class, () -> new IntGrid(-1, 2));
+		assertThrows(IllegalArgumentException.class, () -> new CharGrid(2, -1, '.'));
+	}
+
+	private static List<Integer> expectedNeighbours(Grid grid, int index, int[][] directions) {
+		List<Integer> neighbours = new ArrayList<>();
+		for (int[] direction : directions) {
+			int x = grid.x(index) + direction[0];
+			int y = grid.y(index) + direction[1];
+			if (x >= 0 && x < grid.width() && y >= 0 && y < grid.height()) {
+				neighbours.add(y * grid.width() + x);
+			}
+		}
+		return neighbours;
+	}
+}
@@ -0,0 +1,133 @@
+package com.pawanhegde.advent.util;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks the open-addressing maps and sets against the collections of {@code java.util}. They all probe, grow and
+ * remove the same way, so they are put through the same random operations, through views that widen their keys and
+ * values to {@code long}s.
+ */
+final class HashCollectionChecks {
+	private static final int OPERATIONS = 100_000;
+
+	private HashCollectionChecks() {
+	}
+
+	/**
+	 * @param keys the keys to draw from, few enough that each one is put, updated and removed many times over
+	 */
+	static void behavesLikeAHashMap(MapView map, long[] keys, long seed) {
+		Map<Long, Long> expected = new HashMap<>();
+		Random random = new Random(seed);
+		for (int i = 0; i < OPERATIONS; i++) {
+			long key = keys[random.nextInt(keys.length)];
+			switch (random.nextInt(5)) {
+				case 0 -> {
+					map.put(key, i);
+					expected.put(key, (long) i);
+				}
+				case 1 -> assertEquals((long) expected.merge(key, 1L, Long::sum), map.addTo(key, 1));
+				case 2 -> assertEquals(expected.remove(key) != null, map.remove(key));
+				case 3 -> assertEquals(expected.containsKey(key), map.containsKey(key));
+				default -> assertEquals((long) expected.getOrDefault(key, -1L), map.get(key, -1));
+			}
+			assertEquals(expected.size(), map.size());
+		}
+		assertEquals(expected, map.toMap());
+
+		map.clear();
+		assertEquals(0, map.size());
+		assertEquals(Map.of(), map.toMap());
+	}
+
+	/**
+	 * @param keys the keys to draw from, few enough that each one is added and removed many times over
+	 */
+	static void behavesLikeAHashSet(SetView set, long[] keys, long seed) {
+		Set<Long> expected = new HashSet<>();
+		Random random = new Random(seed);
+		for (int i = 0; i < OPERATIONS; i++) {
+			long key = keys[random.nextInt(keys.length)];
+			switch (random.nextInt(3)) {
+				case 0 -> assertEquals(expected.add(key), set.add(key));
+				case 1 -> assertEquals(expected.remove(key), set.remove(key));
+				default -> assertEquals(expected.contains(key), set.contains(key));
+			}
+			assertEquals(expected.size(), set.size());
+		}
+		assertEquals(expected, set.toSet());
+
+		set.clear();
+		assertEquals(0, set.size());
+		assertEquals(Set.of(), set.toSet());
+	}
+
+	/**
+	 * @return the numbers in the range, along with 0 and the extremes of an {@code int}, which are easy to get wrong
+	 */
+	static long[] intKeys(int from, int to) {
+		long[] keys = new long[to - from + 3];
+		for (int key = from; key < to; key++) {
+			keys[key - from] = key;
+		}
+		keys[keys.length - 3] = 0;
+		keys[keys.length - 2] = Integer.MIN_VALUE;
+		keys[keys.length - 1] = Integer.MAX_VALUE;
+		return keys;
+	}
+
+	/**
+	 * @return the packed coordinates of a square around the origin, which differ mostly in their high bits, along with
+	 * the extremes of a {@code long}
+	 */
+	static long[] coordinateKeys(int radius) {
+		int side = 2 * radius + 1;
+		long[] keys = new long[side * side + 2];
+		for (int y = -radius; y <= radius; y++) {
+			for (int x = -radius; x <= radius; x++) {
+				keys[(y + radius) * side + x + radius] = Coordinates.pack(x, y);
+			}
+		}
+		keys[keys.length - 2] = Long.MIN_VALUE;
+		keys[keys.length - 1] = Long.MAX_VALUE;
+		return keys;
+	}
+
+	interface MapView {
+		void put(long key, long value);
+
+		long addTo(long key, long delta);
+
+		boolean remove(long key);
+
+		boolean containsKey(long key);
+
+		long get(long key, long defaultValue);
+
+		int size();
+
+		void clear();
+
+		Map<Long, Long> toMap();
+	}
+
+	interface SetView {
+		boolean add(long key);
+
+		boolean remove(long key);
+
+		boolean contains(long key);
+
+		int size();
+
+		void clear();
+
+		Set<Long> toSet();
+	}
+}
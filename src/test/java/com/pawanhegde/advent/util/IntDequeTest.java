@@ -0,0 +1,72 @@
+package com.pawanhegde.advent.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IntDequeTest {
+	@Test
+	void behavesLikeAnArrayDeque() {
+		// Starts out small, so that it grows many times over, while its head has wrapped around
+		IntDeque deque = new IntDeque(1);
+		Deque<Integer> expected = new ArrayDeque<>();
+		Random random = new Random(9);
+		for (int i = 0; i < 100_000; i++) {
+			int operation = random.nextInt(6);
+			if (expected.isEmpty() || operation < 2) {
+				deque.addFirst(i);
+				expected.addFirst(i);
+			} else if (operation < 4) {
+				deque.addLast(i);
+				expected.addLast(i);
+			} else if (operation == 4) {
+				assertEquals((int) expected.peekFirst(), deque.peekFirst());
+				assertEquals((int) expected.pollFirst(), deque.pollFirst());
+			} else {
+				assertEquals((int) expected.peekLast(), deque.peekLast());
+				assertEquals((int) expected.pollLast(), deque.pollLast());
+			}
+			assertEquals(expected.size(), deque.size());
+		}
+		while (!expected.isEmpty()) {
+			assertEquals((int) expected.pollFirst(), deque.pollFirst());
+		}
+		assertTrue(deque.isEmpty());
+	}
+
+	@Test
+	void keepsTheOrderWhenItGrowsAfterWrappingAround() {
+		IntDeque deque = new IntDeque();
+		for (int i = 1; i <= 10; i++) {
+			deque.addFirst(-i);
+			deque.addLast(i);
+		}
+
+		for (int i = 10; i >= 1; i--) {
+			assertEquals(-i, deque.pollFirst());
+		}
+		for (int i = 10; i >= 1; i--) {
+			assertEquals(i, deque.pollLast());
+		}
+	}
+
+	@Test
+	void failsWhenEmpty() {
+		IntDeque deque = new IntDeque();
+		deque.addLast(1);
+		deque.clear();
+
+		assertTrue(deque.isEmpty());
+		assertThrows(NoSuchElementException.class, deque::pollFirst);
+		assertThrows(NoSuchElementException.class, deque::pollLast);
+		assertThrows(NoSuchElementException.class, deque::peekFirst);
+		assertThrows(NoSuchElementException.class, deque::peekLast);
+	}
+}
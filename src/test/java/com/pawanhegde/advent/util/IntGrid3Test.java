@@ -0,0 +1,90 @@
+package com.pawanhegde.advent.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IntGrid3Test {
+	private static final int[][] DIRECTIONS = {{-1, 0, 0}, {1, 0, 0}, {0, -1, 0}, {0, 1, 0}, {0, 0, -1}, {0, 0, 1}};
+
+	@Test
+	void convertsBetweenCoordinatesAndIndexes() {
+		IntGrid3 grid = new IntGrid3(4, 3, 2);
+
+		int expectedIndex = 0;
+		for (int z = 0; z < grid.depth(); z++) {
+			for (int y = 0; y < grid.height(); y++) {
+				for (int x = 0; x < grid.width(); x++) {
+					int index = grid.index(x, y, z);
+					assertEquals(expectedIndex++, index);
+					assertEquals(x, grid.x(index));
+					assertEquals(y, grid.y(index));
+					assertEquals(z, grid.z(index));
+				}
+			}
+		}
+		assertEquals(24, grid.size());
+	}
+
+	@Test
+	void knowsItsBounds() {
+		IntGrid3 grid = new IntGrid3(4, 3, 2);
+
+		assertTrue(grid.inBounds(3, 2, 1));
+		assertFalse(grid.inBounds(4, 0, 0));
+		assertFalse(grid.inBounds(0, 3, 0));
+		assertFalse(grid.inBounds(0, 0, 2));
+		assertFalse(grid.inBounds(0, 0, -1));
+	}
+
+	@Test
+	void findsTheNeighboursOfEveryCellIncludingThoseOnTheFaces() {
+		for (int[] size : new int[][]{{1, 1, 1}, {1, 1, 3}, {3, 1, 1}, {2, 2, 2}, {4, 3, 2}}) {
+			IntGrid3 grid = new IntGrid3(size[0], size[1], size[2]);
+			int[] neighbours = new int[6];
+			for (int index = 0; index < grid.size(); index++) {
+				int count = grid.neighbours(index, neighbours);
+				assertEquals(expectedNeighbours(grid, index), Arrays.stream(neighbours, 0, count).boxed().toList(),
+						"Cell " + index + " of " + Arrays.toString(size));
+			}
+		}
+	}
+
+	@Test
+	void setsAndFillsCells() {
+		IntGrid3 grid = new IntGrid3(2, 2, 2);
+
+		grid.set(1, 1, 1, 7);
+		grid.set(0, 3);
+		assertEquals(7, grid.get(grid.index(1, 1, 1)));
+		assertEquals(3, grid.get(0, 0, 0));
+
+		grid.fill(-1);
+		assertEquals(-1, grid.get(1, 1, 1));
+	}
+
+	@Test
+	void rejectsANegativeSize() {
+		assertThrows(IllegalArgumentException.class, () -> new IntGrid3(1, 1, -1));
+	}
+
+	private static List<Integer> expectedNeighbours(IntGrid3 grid, int index) {
+		List<Integer> neighbours = new ArrayList<>();
+		for (int[] direction : DIRECTIONS) {
+			int x = grid.x(index) + direction[0];
+			int y = grid.y(index) + direction[1];
+			int z = grid.z(index) + direction[2];
+			if (grid.inBounds(x, y, z)) {
+				neighbours.add(grid.index(x, y, z));
+			}
+		}
+		return neighbours;
+	}
+}
@@ -0,0 +1,61 @@
+package com.pawanhegde.advent.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class IntGridTest {
+	@Test
+	void readsRowsOfDigits() {
+		IntGrid grid = IntGrid.ofDigits(List.of("30373", "25512"));
+
+		assertEquals(5, grid.width());
+		assertEquals(2, grid.height());
+		assertEquals(3, grid.get(0, 0));
+		assertEquals(7, grid.get(3, 0));
+		assertEquals(2, grid.get(grid.index(4, 1)));
+	}
+
+	@Test
+	void givesTheDefaultOutsideTheGrid() {
+		IntGrid grid = new IntGrid(2, 2, 5);
+
+		assertEquals(5, grid.getOrDefault(1, 1, -1));
+		assertEquals(-1, grid.getOrDefault(2, 1, -1));
+		assertEquals(-1, grid.getOrDefault(1, -1, -1));
+	}
+
+	@Test
+	void setsAndFillsCells() {
+		IntGrid grid = new IntGrid(3, 2);
+		assertEquals(0, grid.get(2, 1));
+
+		grid.set(2, 1, 4);
+		grid.set(0, 9);
+		assertEquals(4, grid.get(grid.index(2, 1)));
+		assertEquals(9, grid.get(0, 0));
+
+		grid.fill(-1);
+		assertEquals(-1, grid.get(2, 1));
+		assertEquals(-1, grid.get(0, 0));
+	}
+
+	@Test
+	void copiesTheCells() {
+		IntGrid grid = new IntGrid(2, 2, 1);
+		IntGrid copy = grid.copy();
+
+		copy.set(1, 1, 2);
+
+		assertEquals(1, grid.get(1, 1));
+		assertEquals(2, copy.get(1, 1));
+	}
+
+	@Test
+	void rejectsRaggedRows() {
+		assertThrows(IllegalArgumentException.class, () -> IntGrid.ofDigits(List.of("123", "12")));
+	}
+}
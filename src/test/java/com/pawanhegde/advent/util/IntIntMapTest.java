@@ -0,0 +1,79 @@
+package com.pawanhegde.advent.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class IntIntMapTest {
+	@Test
+	void behavesLikeAHashMap() {
+		// Starts out small, so that it grows many times over
+		HashCollectionChecks.behavesLikeAHashMap(view(new IntIntMap(4)), HashCollectionChecks.intKeys(-2_500, 2_500),
+				7);
+	}
+
+	@Test
+	void rejectsANegativeExpectedSize() {
+		assertThrows(IllegalArgumentException.class, () -> new IntIntMap(-1));
+	}
+
+	@Test
+	void keepsTheValueOfAKeyThatIsPutAgain() {
+		IntIntMap map = new IntIntMap();
+		map.put(3, 1);
+		map.put(3, 2);
+
+		assertEquals(2, map.get(3, -1));
+		assertEquals(1, map.size());
+	}
+
+	private static HashCollectionChecks.MapView view(IntIntMap map) {
+		return new HashCollectionChecks.MapView() {
+			@Override
+			public void put(long key, long value) {
+				map.put((int) key, (int) value);
+			}
+
+			@Override
+			public long addTo(long key, long delta) {
+				return map.addTo((int) key, (int) delta);
+			}
+
+			@Override
+			public boolean remove(long key) {
+				return map.remove((int) key);
+			}
+
+			@Override
+			public boolean containsKey(long key) {
+				return map.containsKey((int) key);
+			}
+
+			@Override
+			public long get(long key, long defaultValue) {
+				return map.get((int) key, (int) defaultValue);
+			}
+
+			@Override
+			public int size() {
+				return map.size();
+			}
+
+			@Override
+			public void clear() {
+				map.clear();
+			}
+
+			@Override
+			public Map<Long, Long> toMap() {
+				Map<Long, Long> contents = new HashMap<>();
+				map.forEach((key, value) -> contents.put((long) key, (long) value));
+				return contents;
+			}
+		};
+	}
+}
@@ -0,0 +1,56 @@
+package com.pawanhegde.advent.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class IntSetTest {
+	@Test
+	void behavesLikeAHashSet() {
+		HashCollectionChecks.behavesLikeAHashSet(view(new IntSet(4)), HashCollectionChecks.intKeys(-2_500, 2_500), 11);
+	}
+
+	@Test
+	void rejectsANegativeExpectedSize() {
+		assertThrows(IllegalArgumentException.class, () -> new IntSet(-1));
+	}
+
+	private static HashCollectionChecks.SetView view(IntSet set) {
+		return new HashCollectionChecks.SetView() {
+			@Override
+			public boolean add(long key) {
+				return set.add((int) key);
+			}
+
+			@Override
+			public boolean remove(long key) {
+				return set.remove((int) key);
+			}
+
+			@Override
+			public boolean contains(long key) {
+				return set.contains((int) key);
+			}
+
+			@Override
+			public int size() {
+				return set.size();
+			}
+
+			@Override
+			public void clear() {
+				set.clear();
+			}
+
+			@Override
+			public Set<Long> toSet() {
+				Set<Long> contents = new HashSet<>();
+				set.forEach(key -> contents.add((long) key));
+				return contents;
+			}
+		};
+	}
+}
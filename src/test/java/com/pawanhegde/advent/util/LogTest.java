@@ -0,0 +1,54 @@
+package com.pawanhegde.advent.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LogTest {
+	private static final int THREADS = 8;
+	private static final int LINES_PER_THREAD = 5_000;
+
+	@Test
+	void writesEveryLineInTheOrderOfEachThread() throws InterruptedException {
+		Log.flush();
+		PrintStream original = System.out;
+		ByteArrayOutputStream captured = new ByteArrayOutputStream();
+		System.setOut(new PrintStream(captured, true, StandardCharsets.UTF_8));
+		try {
+			List<Thread> threads = new ArrayList<>();
+			for (int t = 0; t < THREADS; t++) {
+				int thread = t;
+				threads.add(new Thread(() -> {
+					for (int i = 0; i < LINES_PER_THREAD; i++) {
+						Log.info("log-test " + thread + " " + i);
+					}
+				}));
+			}
+			threads.forEach(Thread::start);
+			for (Thread thread : threads) {
+				thread.join();
+			}
+			Log.flush();
+		} finally {
+			System.setOut(original);
+		}
+
+		int[] next = new int[THREADS];
+		Matcher matcher = Pattern.compile("log-test (\\d+) (\\d+)").matcher(captured.toString(StandardCharsets.UTF_8));
+		while (matcher.find()) {
+			int thread = Integer.parseInt(matcher.group(1));
+			assertEquals(next[thread]++, Integer.parseInt(matcher.group(2)), "Line out of order for thread " + thread);
+		}
+		for (int t = 0; t < THREADS; t++) {
+			assertEquals(LINES_PER_THREAD, next[t], "Lines missing for thread " + t);
+		}
+	}
+}
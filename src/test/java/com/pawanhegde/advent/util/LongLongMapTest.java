@@ -0,0 +1,81 @@
+package com.pawanhegde.advent.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LongLongMapTest {
+	@Test
+	void behavesLikeAHashMap() {
+		HashCollectionChecks.behavesLikeAHashMap(view(new LongLongMap()), HashCollectionChecks.intKeys(-2_500, 2_500),
+				42);
+	}
+
+	@Test
+	void behavesLikeAHashMapWithCoordinatesAsKeys() {
+		HashCollectionChecks.behavesLikeAHashMap(view(new LongLongMap()), HashCollectionChecks.coordinateKeys(35), 43);
+	}
+
+	@Test
+	void storesZeroAsAKey() {
+		LongLongMap map = new LongLongMap();
+		assertFalse(map.containsKey(0));
+
+		map.put(0, 7);
+
+		assertTrue(map.containsKey(0));
+		assertEquals(7, map.get(0, -1));
+		assertEquals(1, map.size());
+	}
+
+	private static HashCollectionChecks.MapView view(LongLongMap map) {
+		return new HashCollectionChecks.MapView() {
+			@Override
+			public void put(long key, long value) {
+				map.put(key, value);
+			}
+
+			@Override
+			public long addTo(long key, long delta) {
+				return map.addTo(key, delta);
+			}
+
+			@Override
+			public boolean remove(long key) {
+				return map.remove(key);
+			}
+
+			@Override
+			public boolean containsKey(long key) {
+				return map.containsKey(key);
+			}
+
+			@Override
+			public long get(long key, long defaultValue) {
+				return map.get(key, defaultValue);
+			}
+
+			@Override
+			public int size() {
+				return map.size();
+			}
+
+			@Override
+			public void clear() {
+				map.clear();
+			}
+
+			@Override
+			public Map<Long, Long> toMap() {
+				Map<Long, Long> contents = new HashMap<>();
+				map.forEach(contents::put);
+				return contents;
+			}
+		};
+	}
+}
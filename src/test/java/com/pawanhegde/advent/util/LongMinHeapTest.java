@@ -0,0 +1,43 @@
+package com.pawanhegde.advent.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LongMinHeapTest {
+	@Test
+	void popsInTheOrderOfPriority() {
+		LongMinHeap heap = new LongMinHeap();
+		PriorityQueue<long[]> expected = new PriorityQueue<>((a, b) -> Long.compare(a[0], b[0]));
+		Random random = new Random(3);
+		for (int i = 0; i < 50_000; i++) {
+			if (expected.isEmpty() || random.nextInt(3) > 0) {
+				long priority = random.nextInt(1_000);
+				heap.push(priority, priority * 31);
+				expected.add(new long[]{priority, priority * 31});
+			} else {
+				long[] top = expected.poll();
+				assertEquals(top[0], heap.peekPriority());
+				// Values of the same priority may come out in any order, so the value is tied to the priority
+				assertEquals(top[1], heap.pop());
+			}
+		}
+		assertEquals(expected.size(), heap.size());
+	}
+
+	@Test
+	void failsWhenEmpty() {
+		LongMinHeap heap = new LongMinHeap();
+		heap.push(1, 2);
+		heap.pop();
+
+		assertTrue(heap.isEmpty());
+		assertThrows(NoSuchElementException.class, heap::pop);
+	}
+}
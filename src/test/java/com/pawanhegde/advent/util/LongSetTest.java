@@ -0,0 +1,54 @@
+package com.pawanhegde.advent.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+class LongSetTest {
+	@Test
+	void behavesLikeAHashSet() {
+		HashCollectionChecks.behavesLikeAHashSet(view(new LongSet()), HashCollectionChecks.intKeys(-2_500, 2_500), 13);
+	}
+
+	@Test
+	void behavesLikeAHashSetWithCoordinatesAsKeys() {
+		HashCollectionChecks.behavesLikeAHashSet(view(new LongSet(4)), HashCollectionChecks.coordinateKeys(35), 17);
+	}
+
+	private static HashCollectionChecks.SetView view(LongSet set) {
+		return new HashCollectionChecks.SetView() {
+			@Override
+			public boolean add(long key) {
+				return set.add(key);
+			}
+
+			@Override
+			public boolean remove(long key) {
+				return set.remove(key);
+			}
+
+			@Override
+			public boolean contains(long key) {
+				return set.contains(key);
+			}
+
+			@Override
+			public int size() {
+				return set.size();
+			}
+
+			@Override
+			public void clear() {
+				set.clear();
+			}
+
+			@Override
+			public Set<Long> toSet() {
+				Set<Long> contents = new HashSet<>();
+				set.forEach(contents::add);
+				return contents;
+			}
+		};
+	}
+}
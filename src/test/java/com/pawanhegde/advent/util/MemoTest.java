@@ -0,0 +1,54 @@
+package com.pawanhegde.advent.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.function.Function;
+import java.util.function.LongUnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class MemoTest {
+	private static int calls;
+	private static final LongUnaryOperator FIBONACCI = Memo.memoizeLong(MemoTest::fibonacci);
+	private static final Function<Integer, Long> PATHS = Memo.memoize(MemoTest::paths);
+
+	@Test
+	void computesEachArgumentOnceEvenWhenItCallsItself() {
+		calls = 0;
+
+		assertEquals(12_586_269_025L, FIBONACCI.applyAsLong(50));
+		assertEquals(51, calls);
+
+		assertEquals(55, FIBONACCI.applyAsLong(10));
+		assertEquals(51, calls);
+	}
+
+	@Test
+	void memoizesBoxedArgumentsRecursively() {
+		// The number of ways up a staircase of 40 steps, taking one or two at a time
+		assertEquals(165_580_141L, PATHS.apply(40));
+	}
+
+	@Test
+	void remembersNullResults() {
+		int[] nullCalls = {0};
+		Function<String, String> function = Memo.memoize(argument -> {
+			nullCalls[0]++;
+			return null;
+		});
+
+		assertNull(function.apply("a"));
+		assertNull(function.apply("a"));
+		assertEquals(1, nullCalls[0]);
+	}
+
+	private static long fibonacci(long n) {
+		calls++;
+		return n < 2 ? n : FIBONACCI.applyAsLong(n - 1) + FIBONACCI.applyAsLong(n - 2);
+	}
+
+	private static long paths(int steps) {
+		return steps < 2 ? 1 : PATHS.apply(steps - 1) + PATHS.apply(steps - 2);
+	}
+}